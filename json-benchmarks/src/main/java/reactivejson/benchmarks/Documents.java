@@ -0,0 +1,50 @@
+package reactivejson.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generates JSON documents for benchmarks.
+ */
+final class Documents {
+
+	private static final String[] WORDS = {"lorem", "ipsum", "dolor", "sit", "amet", "consectetur",
+			"adipiscing", "elit", "sed", "do", "eiusmod", "tempor"};
+
+	private static final String[] UNICODE_WORDS = {"café", "naïve", "größe", "日本語", "текст", "😀",
+			"ελληνικά", "中文", "tab\\tescaped", "quote\\\"d"};
+
+	private Documents() {
+	}
+
+	/**
+	 * @return Array of records with fields of all kinds of values
+	 */
+	static String records(int count, boolean unicode, Random random) {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < count; i++) {
+			json.append(i == 0 ? "" : ",")
+					.append("{\"id\":").append(random.nextInt(1000000))
+					.append(",\"name\":\"").append(words(2, unicode, random))
+					.append("\",\"description\":\"").append(words(12, unicode, random))
+					.append("\",\"price\":").append(random.nextInt(100000) / 100.0)
+					.append(",\"quantity\":").append(random.nextLong())
+					.append(",\"active\":").append(random.nextBoolean())
+					.append(",\"tags\":[\"").append(words(1, unicode, random)).append("\",\"")
+					.append(words(1, unicode, random)).append("\"]")
+					.append(",\"address\":{\"street\":\"").append(words(3, unicode, random))
+					.append("\",\"zip\":\"").append(10000 + random.nextInt(90000))
+					.append("\",\"location\":[").append(random.nextDouble() * 180 - 90).append(',')
+					.append(random.nextDouble() * 360 - 180).append("]},\"parent\":null}");
+		}
+		return json.append(']').toString();
+	}
+
+	private static String words(int count, boolean unicode, Random random) {
+		StringBuilder words = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			String[] dictionary = unicode && random.nextInt(3) == 0 ? UNICODE_WORDS : WORDS;
+			words.append(i == 0 ? "" : " ").append(dictionary[random.nextInt(dictionary.length)]);
+		}
+		return words.toString();
+	}
+}
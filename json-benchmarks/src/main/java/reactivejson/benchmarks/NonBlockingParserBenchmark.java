@@ -0,0 +1,94 @@
+package reactivejson.benchmarks;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.core.async_.JsonFactory;
+import com.fasterxml.jackson.core.async_.NonBlockingJsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokenizes a document of records (all tokens, with values decoded) fed to
+ * non-blocking parser in chunks of given size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NonBlockingParserBenchmark {
+
+	@Param({"ascii", "unicode"})
+	public String text;
+
+	@Param({"1048576", "8192", "512"})
+	public int chunkSize;
+
+	private final JsonFactory jsonFactory = new JsonFactory();
+
+	private List<ByteBuffer> chunks;
+
+	@Setup
+	public void setUp() {
+		byte[] document = Documents.records(2000, "unicode".equals(text), new Random(42))
+				.getBytes(StandardCharsets.UTF_8);
+		chunks = new ArrayList<>();
+		for (int start = 0; start < document.length; start += chunkSize) {
+			chunks.add(ByteBuffer.wrap(document, start, Math.min(chunkSize, document.length - start)).slice());
+		}
+	}
+
+	@Benchmark
+	public void tokenize(Blackhole blackhole) throws IOException {
+		NonBlockingJsonParser parser = jsonFactory.acquireNonBlockingParser();
+		ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+		for (ByteBuffer chunk : chunks) {
+			feeder.feedInput(chunk.duplicate());
+			readAvailable(parser, blackhole);
+		}
+		feeder.endOfInput();
+		readAvailable(parser, blackhole);
+		jsonFactory.releaseNonBlockingParser(parser);
+	}
+
+	private static void readAvailable(NonBlockingJsonParser parser, Blackhole blackhole) throws IOException {
+		JsonToken token;
+		while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+			switch (token) {
+				case FIELD_NAME:
+					blackhole.consume(parser.getCurrentName());
+					break;
+				case VALUE_STRING:
+					blackhole.consume(parser.getText());
+					break;
+				case VALUE_NUMBER_INT:
+					blackhole.consume(parser.getLongValue());
+					break;
+				case VALUE_NUMBER_FLOAT:
+					blackhole.consume(parser.getDoubleValue());
+					break;
+				default:
+					blackhole.consume(token);
+			}
+		}
+	}
+}
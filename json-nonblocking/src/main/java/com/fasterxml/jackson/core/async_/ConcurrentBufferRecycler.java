@@ -0,0 +1,136 @@
+package com.fasterxml.jackson.core.async_;
+
+import com.fasterxml.jackson.core.util.BufferRecycler;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link BufferRecycler} that may be shared by any number of threads: unlike the
+ * default one (which is expected to be held in a ThreadLocal, and only touched by
+ * its own thread) buffers can be taken on one thread and returned on another, which
+ * is what happens with non-blocking parsers driven by reactive pipelines.
+ *<p>
+ * For each buffer type there is a bounded set of slots, claimed and filled with
+ * compare-and-set; if no buffer is available a new one is allocated, and if all
+ * slots are taken a returned buffer is simply left to GC.
+ */
+public class ConcurrentBufferRecycler extends BufferRecycler
+{
+    // Buffer types of the base class: BYTE_READ_IO_BUFFER to BYTE_BASE64_CODEC_BUFFER,
+    // CHAR_TOKEN_BUFFER to CHAR_NAME_COPY_BUFFER
+    private final static int BYTE_BUFFER_TYPES = 4;
+    private final static int CHAR_BUFFER_TYPES = 4;
+
+    protected final AtomicReferenceArray<byte[]>[] _byteSlots;
+    protected final AtomicReferenceArray<char[]>[] _charSlots;
+
+    protected final int _slotMask;
+
+    /**
+     * Recycler with slots for as many buffers of each type as there are processors
+     * (times two, to allow some buffers to be in flight)
+     */
+    public ConcurrentBufferRecycler()
+    {
+        this(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param slotsPerType Maximum number of buffers of each type to keep; rounded
+     *    up to a power of two
+     */
+    public ConcurrentBufferRecycler(int slotsPerType)
+    {
+        super(0, 0);
+        int slots = 1;
+        while (slots < slotsPerType) {
+            slots <<= 1;
+        }
+        _slotMask = slots - 1;
+        _byteSlots = _slots(BYTE_BUFFER_TYPES, slots);
+        _charSlots = _slots(CHAR_BUFFER_TYPES, slots);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> AtomicReferenceArray<T>[] _slots(int types, int slots)
+    {
+        final AtomicReferenceArray<T>[] result = (AtomicReferenceArray<T>[])
+                Array.newInstance(AtomicReferenceArray.class, types);
+        for (int i = 0; i < types; ++i) {
+            result[i] = new AtomicReferenceArray<T>(slots);
+        }
+        return result;
+    }
+
+    @Override
+    public byte[] allocByteBuffer(int ix, int minSize)
+    {
+        final int defaultSize = byteBufferLength(ix);
+        if (minSize < defaultSize) {
+            minSize = defaultSize;
+        }
+        final AtomicReferenceArray<byte[]> slots = _byteSlots[ix];
+        final int start = _firstSlot();
+        for (int i = 0; i <= _slotMask; ++i) {
+            final int slot = (start + i) & _slotMask;
+            final byte[] buffer = slots.get(slot);
+            if ((buffer != null) && (buffer.length >= minSize) && slots.compareAndSet(slot, buffer, null)) {
+                return buffer;
+            }
+        }
+        return balloc(minSize);
+    }
+
+    @Override
+    public void releaseByteBuffer(int ix, byte[] buffer)
+    {
+        final AtomicReferenceArray<byte[]> slots = _byteSlots[ix];
+        final int start = _firstSlot();
+        for (int i = 0; i <= _slotMask; ++i) {
+            final int slot = (start + i) & _slotMask;
+            if ((slots.get(slot) == null) && slots.compareAndSet(slot, null, buffer)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public char[] allocCharBuffer(int ix, int minSize)
+    {
+        final int defaultSize = charBufferLength(ix);
+        if (minSize < defaultSize) {
+            minSize = defaultSize;
+        }
+        final AtomicReferenceArray<char[]> slots = _charSlots[ix];
+        final int start = _firstSlot();
+        for (int i = 0; i <= _slotMask; ++i) {
+            final int slot = (start + i) & _slotMask;
+            final char[] buffer = slots.get(slot);
+            if ((buffer != null) && (buffer.length >= minSize) && slots.compareAndSet(slot, buffer, null)) {
+                return buffer;
+            }
+        }
+        return calloc(minSize);
+    }
+
+    @Override
+    public void releaseCharBuffer(int ix, char[] buffer)
+    {
+        final AtomicReferenceArray<char[]> slots = _charSlots[ix];
+        final int start = _firstSlot();
+        for (int i = 0; i <= _slotMask; ++i) {
+            final int slot = (start + i) & _slotMask;
+            if ((slots.get(slot) == null) && slots.compareAndSet(slot, null, buffer)) {
+                return;
+            }
+        }
+    }
+
+    // Threads start scanning from different slots, to keep them from competing
+    // for the same ones
+    private int _firstSlot()
+    {
+        return (int) Thread.currentThread().getId() & _slotMask;
+    }
+}
@@ -3,17 +3,210 @@ package com.fasterxml.jackson.core.async_;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Temporary copy while not released fixed version
  */
 public class JsonFactory extends com.fasterxml.jackson.core.JsonFactory {
 
+	/**
+	 * Root symbol tables non-blocking parsers start from: by default just
+	 * {@link #_byteSymbolCanonicalizer}.
+	 */
+	protected transient SymbolTableStripes _symbolTableStripes = new SymbolTableStripes(_byteSymbolCanonicalizer);
+
+	/**
+	 * Reset non-blocking parsers available for reuse, see {@link #acquireNonBlockingParser()}
+	 */
+	protected transient final Queue<NonBlockingJsonParser> _parserPool = new ConcurrentLinkedQueue<>();
+
+	protected transient final AtomicInteger _parserPoolSize = new AtomicInteger();
+
+	protected int _parserPoolMaxSize = 64;
+
+	/**
+	 * Recycler for buffers of non-blocking parsers, shared by all threads;
+	 * <code>null</code> to use per-thread recyclers like blocking parsers do.
+	 */
+	protected transient BufferRecycler _nonBlockingBufferRecycler = new ConcurrentBufferRecycler();
+
+	/**
+	 * Makes non-blocking parsers use given number of separate root symbol tables
+	 * (chosen by thread), instead of the single shared one, for factories used by
+	 * lots of concurrent parsers. Names seeded before this call are not carried over.
+	 *
+	 * @param stripes Number of root tables; rounded up to a power of two
+	 * @param mergeInterval Minimum time between merges of new names into any one
+	 *    root table; 0 to merge whenever a parser has found new names
+	 *
+	 * @return This factory, for call chaining
+	 */
+	public JsonFactory setSymbolTableStripes(int stripes, long mergeInterval, TimeUnit unit) {
+		_symbolTableStripes = new SymbolTableStripes(stripes, unit.toNanos(mergeInterval));
+		return this;
+	}
+
+	/**
+	 * Sets recycler non-blocking parsers get their buffers from and return them to:
+	 * as such parsers may be used from different threads, it must be thread-safe,
+	 * like {@link ConcurrentBufferRecycler} used by default. <code>null</code> makes
+	 * them use per-thread recyclers instead.
+	 *
+	 * @return This factory, for call chaining
+	 */
+	public JsonFactory setNonBlockingBufferRecycler(BufferRecycler recycler) {
+		_nonBlockingBufferRecycler = recycler;
+		return this;
+	}
+
+	@Override
+	protected IOContext _createNonBlockingContext(Object srcRef) {
+		if (_nonBlockingBufferRecycler == null) {
+			return super._createNonBlockingContext(srcRef);
+		}
+		return new IOContext(_nonBlockingBufferRecycler, srcRef, false);
+	}
+
+	/**
+	 * Sets maximum number of parsers kept for reuse by
+	 * {@link #releaseNonBlockingParser(NonBlockingJsonParser)}; 0 disables pooling.
+	 *
+	 * @return This factory, for call chaining
+	 */
+	public JsonFactory setNonBlockingParserPoolSize(int maxSize) {
+		_parserPoolMaxSize = maxSize;
+		return this;
+	}
+
+	/**
+	 * Returns a non-blocking parser (same as {@link #createNonBlockingByteArrayParser()}
+	 * would construct) from the pool of released ones if there are any; otherwise a
+	 * new one. Caller should hand it back with {@link #releaseNonBlockingParser}
+	 * once done with it.
+	 */
+	public NonBlockingJsonParser acquireNonBlockingParser() {
+		NonBlockingJsonParser parser = _parserPool.poll();
+		if (parser == null) {
+			return (NonBlockingJsonParser) createNonBlockingByteArrayParser();
+		}
+		_parserPoolSize.decrementAndGet();
+		return parser;
+	}
+
+	/**
+	 * Resets given parser, acquired from this factory, and keeps it for reuse unless
+	 * the pool is already full (or parser has symbol table not worth keeping, or was
+	 * created with other features than the factory now has), in which case it is just
+	 * closed. Parser must not be used by the caller after this.
+	 */
+	public void releaseNonBlockingParser(NonBlockingJsonParser parser) throws IOException {
+		// features are restored by reset, but factory ones may have changed, and with
+		// them whether parser should be the strict one
+		if (parser._floodedLevels == 0 && parser._initialFeatures == _parserFeatures) {
+			if (_parserPoolSize.incrementAndGet() <= _parserPoolMaxSize) {
+				// as closing would
+				parser._mergeSymbols();
+				parser.reset();
+				_parserPool.offer(parser);
+				return;
+			}
+			_parserPoolSize.decrementAndGet();
+		}
+		parser.close();
+	}
+
 	@Override
 	public JsonParser createNonBlockingByteArrayParser() {
 		IOContext ctxt = _createNonBlockingContext(null);
-		ByteQuadsCanonicalizer can = _byteSymbolCanonicalizer.makeChild(_factoryFeatures);
-		return new NonBlockingJsonParser(ctxt, _parserFeatures, can);
+		SymbolTableStripes.Stripe stripe = _symbolTableStripes.current();
+		ByteQuadsCanonicalizer can = stripe.makeChild(_factoryFeatures);
+		return _createNonBlockingParser(ctxt, can, false, stripe);
+	}
+
+	/**
+	 * Like {@link #createNonBlockingByteArrayParser()}, but returned parser queues
+	 * input fed while previous chunks are still being decoded (possibly from another
+	 * thread), and moves across chunk boundaries on its own.
+	 */
+	public JsonParser createNonBlockingQueuedParser() {
+		IOContext ctxt = _createNonBlockingContext(null);
+		SymbolTableStripes.Stripe stripe = _symbolTableStripes.current();
+		ByteQuadsCanonicalizer can = stripe.makeChild(_factoryFeatures);
+		return _createNonBlockingParser(ctxt, can, true, stripe);
+	}
+
+	/**
+	 * Constructs {@link StrictNonBlockingJsonParser} unless some feature allowing
+	 * non-standard content is enabled.
+	 */
+	private NonBlockingJsonParser _createNonBlockingParser(IOContext ctxt, ByteQuadsCanonicalizer can,
+			boolean queueInput, SymbolTableStripes.Stripe stripe) {
+		if ((_parserFeatures & StrictNonBlockingJsonParser.LENIENT_FEATURES) == 0) {
+			return new StrictNonBlockingJsonParser(ctxt, _parserFeatures, can, queueInput, stripe);
+		}
+		return new NonBlockingJsonParser(ctxt, _parserFeatures, can, queueInput, stripe);
+	}
+
+	/**
+	 * Adds given field names to the shared symbol table that all parsers of this
+	 * factory start from, so that even the first documents parsed find them without
+	 * having to hash and insert them first.
+	 *
+	 * @return This factory, for call chaining
+	 */
+	public JsonFactory seedFieldNames(Iterable<String> names) {
+		for (SymbolTableStripes.Stripe stripe : _symbolTableStripes.all()) {
+			seedFieldNames(stripe.makeChild(_factoryFeatures), names);
+		}
+		return this;
+	}
+
+	private static void seedFieldNames(ByteQuadsCanonicalizer can, Iterable<String> names) {
+		int[] quads = new int[8];
+		for (String name : names) {
+			byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+			if (bytes.length == 0) {
+				continue;
+			}
+			int qlen = (bytes.length + 3) >> 2;
+			if (qlen > quads.length) {
+				quads = new int[qlen];
+			}
+			nameQuads(bytes, quads);
+			if (can.findName(quads, qlen) == null) {
+				can.addName(name, quads, qlen);
+			}
+		}
+		// merges additions back into the root table
+		can.release();
+	}
+
+	/**
+	 * Packs UTF-8 bytes of a name into big-endian quads the way parsers do,
+	 * last partial quad padded with 1-bits.
+	 */
+	static void nameQuads(byte[] bytes, int[] quads) {
+		int q = 0;
+		int i = 0;
+		for (; i < bytes.length; i++) {
+			q = (q << 8) | (bytes[i] & 0xFF);
+			if ((i & 3) == 3) {
+				quads[i >> 2] = q;
+				q = 0;
+			}
+		}
+		int lastBytes = i & 3;
+		if (lastBytes != 0) {
+			quads[i >> 2] = q | (-1 << (lastBytes << 3));
+		}
 	}
 
 }
@@ -1,20 +1,34 @@
 package com.fasterxml.jackson.core.async_;
 
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
 import com.fasterxml.jackson.core.async.ByteArrayFeeder;
 import com.fasterxml.jackson.core.async.ByteBufferFeeder;
 import com.fasterxml.jackson.core.async.NonBlockingInputFeeder;
 import com.fasterxml.jackson.core.io.CharTypes;
 import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.json.DupDetector;
+import com.fasterxml.jackson.core.json.JsonReadContext;
 import com.fasterxml.jackson.core.json.async.NonBlockingJsonParserBase;
 import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+import com.fasterxml.jackson.core.util.TextBuffer;
 import com.fasterxml.jackson.core.util.VersionUtil;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.Channels;
 import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Temporary copy while not released fixed version
@@ -41,10 +55,62 @@ public class NonBlockingJsonParser
     // This is the main input-code lookup table, fetched eagerly
     private final static int[] _icUTF8 = CharTypes.getInputCodeUtf8();
 
+    // Word-at-a-time ("SWAR") masks: one bit/byte per lane, high bit per lane
+    private final static long SWAR_ONES = 0x0101010101010101L;
+    private final static long SWAR_HIGH_BITS = 0x8080808080808080L;
+
+    // Eight spaces or tabs, for skipping indentation a word at a time
+    private final static long SWAR_SPACES = SWAR_ONES * INT_SPACE;
+    private final static long SWAR_TABS = SWAR_ONES * INT_TAB;
+
+    // Keywords (or rest of them, after first byte) as little-endian ints
+    private final static int LITERAL_TRUE = ('t' | ('r' << 8) | ('u' << 16) | ('e' << 24));
+    private final static int LITERAL_ALSE = ('a' | ('l' << 8) | ('s' << 16) | ('e' << 24));
+    private final static int LITERAL_NULL = ('n' | ('u' << 8) | ('l' << 16) | ('l' << 24));
+
     // Latin1 encoding is not supported, but we do use 8-bit subset for
     // pre-processing task, to simplify first pass, keep it fast.
     protected final static int[] _icLatin1 = CharTypes.getInputCodeLatin1();
 
+    // Mantissa accumulated while scanning digits is only kept while below this
+    // (so that one more digit still fits); longer ones are marked as overflown
+    private final static long MANTISSA_LIMIT = 100000000000000000L;
+
+    // Largest mantissa and powers of ten that are exactly representable as doubles
+    private final static long MAX_EXACT_DOUBLE_MANTISSA = (1L << 53);
+    private final static double[] EXACT_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Field names not found in symbol table are counted per nesting level (deeper
+    // levels share the last counter), over a window of names that halves counts
+    // when full; levels with more misses than the limit stop adding new names
+    private final static int NAME_LEVELS = 16;
+    private final static int NAME_WINDOW = 4096;
+    private final static int NAME_LEVEL_MISS_LIMIT = 256;
+
+    // Field names predicted from the last Object at same nesting level are only
+    // kept for this many first fields; and no longer tried at a level after this
+    // many mispredictions in a row
+    private final static int SHAPE_MAX_FIELDS = 256;
+    private final static int SHAPE_MISS_LIMIT = 256;
+
+    // Minor state for skipping contents of an Object/Array (not used by base class),
+    // and its sub-states: outside Strings, within String, after backslash in String
+    protected final static int MINOR_SKIP_CHILDREN = 60;
+    private final static int SKIP_STRUCTURE = 0;
+    private final static int SKIP_STRING = 1;
+    private final static int SKIP_STRING_ESCAPE = 2;
+
+    // Size of scratch buffer for bytes decoded from Base64 values as they arrive,
+    // and error message for a value ending with a partial unit
+    private final static int BASE64_BUFFER_LENGTH = 3000;
+    private final static String BASE64_EOF = "Unexpected end-of-String in base64 content";
+
+    // Marker segment queued by 'endOfInput()' in queued input mode
+    private final static ByteBuffer END_OF_INPUT_SEGMENT = ByteBuffer.allocate(0);
+
     /*
     /**********************************************************************
     /* Input source config
@@ -56,6 +122,27 @@ public class NonBlockingJsonParser
      */
     protected ByteBuffer _inputBuffer = ByteBuffer.wrap(new byte[0]);
 
+    /**
+     * Backing array of {@link #_inputBuffer} if it is heap-backed, <code>null</code>
+     * otherwise. When set, input pointers are offsets within this array (that is,
+     * they already include {@link ByteBuffer#arrayOffset()}) so that hot loops can
+     * index it directly instead of going through {@link ByteBuffer#get(int)}.
+     */
+    protected byte[] _inputArray;
+
+    /**
+     * Little-endian view of current input, used for reading 8 bytes at a time.
+     * Shares index space with input pointers: wraps whole {@link #_inputArray}
+     * for heap buffers, duplicates {@link #_inputBuffer} otherwise.
+     */
+    protected ByteBuffer _inputWords;
+
+    /**
+     * Whether current input chunk only contains 7-bit ASCII bytes, in which case
+     * String values need no UTF-8 decoding; determined when chunk is fed.
+     */
+    protected boolean _inputAscii;
+
     /**
      * In addition to current buffer pointer, and end pointer,
      * we will also need to know number of bytes originally
@@ -64,6 +151,168 @@ public class NonBlockingJsonParser
      */
     protected int _origBufferLen;
 
+    /**
+     * Input segments fed but not yet reached by decoding, when parser has been
+     * constructed to queue input; <code>null</code> otherwise. Segments are offered
+     * by feeding thread(s) and only polled by the decoding thread, which moves to
+     * the next segment once current one is exhausted (also in the middle of a token).
+     */
+    protected final Queue<ByteBuffer> _inputSegments;
+
+    /**
+     * Whether {@link #endOfInput()} has been called, for queued input mode: kept
+     * separate from {@link #_endOfInput} that only changes once decoding reaches
+     * end marker.
+     */
+    protected volatile boolean _inputSegmentsClosed;
+
+    /**
+     * Stripe of factory symbol tables {@link #_symbols} was created from, which
+     * decides whether new names get merged back on release; <code>null</code> to
+     * always merge.
+     */
+    private final SymbolTableStripes.Stripe _symbolsStripe;
+
+    /**
+     * Features parser was constructed with, restored by {@link #reset()}
+     */
+    protected final int _initialFeatures;
+
+    /**
+     * Symbol table misses per nesting level within current name window;
+     * allocated on first miss.
+     */
+    protected int[] _nameMisses;
+
+    /**
+     * Number of field names decoded within current window
+     */
+    protected int _namesInWindow;
+
+    /**
+     * Number of field names matched against the prediction of {@link #_shape}
+     * instead of being decoded, since start or last {@link #reset()}
+     */
+    protected int _namesPredicted;
+
+    /**
+     * Nesting levels (one bit each) at which names have been decoded without adding
+     * them to {@link #_symbols} (high-cardinality keys, like ids used as keys of a
+     * map): the table then also has the one-off names added at those levels before
+     * that was detected, so only names of other levels get merged back to the
+     * factory. Describes table content, so is kept over {@link #reset()} as the
+     * table is.
+     */
+    protected int _floodedLevels;
+
+    /**
+     * Names added to {@link #_symbols} (first {@link #_addedNameCount} entries), for
+     * merging back only those of levels not flooded: just the Strings, as quads
+     * can be recreated from them in the rare case they are needed. Only kept if
+     * parser has a stripe to create a table to merge from; cleared once merged.
+     */
+    private String[] _addedNames;
+
+    /**
+     * Nesting levels of {@link #_addedNames}
+     */
+    private byte[] _addedNameLevels;
+
+    protected int _addedNameCount;
+
+    /**
+     * Nesting depth of skipped content remaining while in {@link #MINOR_SKIP_CHILDREN}
+     */
+    protected int _skipDepth;
+
+    /**
+     * Sub-state of {@link #MINOR_SKIP_CHILDREN}: whether within a String
+     */
+    protected int _skipState;
+
+    /**
+     * Field names seen in the last Object of each nesting level (deeper levels
+     * share the last one), used to predict names of the next Object with the
+     * same field order; lazily created.
+     */
+    private ObjectShape[] _shapes;
+
+    /**
+     * Context {@link #_shape} was looked up for: contexts are reused for all
+     * Objects at the same nesting level, so this only changes when moving
+     * between levels
+     */
+    private JsonReadContext _shapeContext;
+
+    private ObjectShape _shape;
+
+    /**
+     * Digits of current number token (integral and fractional part, sign and
+     * leading zeroes excluded) accumulated as they are scanned, so that the value
+     * need not be decoded again from text; <code>-1</code> if there were too
+     * many digits to fit.
+     */
+    protected long _numberMantissa;
+
+    /**
+     * Start of the bytes of current String value (after opening quote) in
+     * current input chunk, if value was not escaped and ended within the chunk;
+     * <code>-1</code> otherwise, and once the chunk may no longer be accessed.
+     */
+    protected int _rawTextStart = -1;
+
+    /**
+     * End of the bytes of current String value (its closing quote), if
+     * {@link #_rawTextStart} is set
+     */
+    protected int _rawTextEnd;
+
+    /**
+     * Whether bytes of current String value are all 7-bit ASCII, if
+     * {@link #_rawTextStart} is set
+     */
+    protected boolean _rawTextAscii;
+
+    /**
+     * Whether current String value has not yet been copied into {@link #_textBuffer}:
+     * this is deferred for ASCII values with raw bytes, until text is asked for.
+     */
+    protected boolean _rawTextPending;
+
+    /**
+     * Receiver of long String values in parts, if any
+     */
+    protected StringChunkListener _stringChunkListener;
+
+    /**
+     * Number of characters a String value must have accumulated, when input
+     * runs out, for the part to be handed to {@link #_stringChunkListener}
+     */
+    protected int _stringChunkLength;
+
+    /**
+     * Whether parts of current String value have been handed to
+     * {@link #_stringChunkListener}
+     */
+    protected boolean _stringStreamed;
+
+    /**
+     * Variant to decode the next (or current) String value with as its input
+     * arrives, if asked to with {@link #decodeNextBinaryValue}
+     */
+    protected Base64Variant _base64Variant;
+
+    /**
+     * Where bytes decoded with {@link #_base64Variant} go: stream given by caller,
+     * or {@link #_byteArrayBuilder} to collect them
+     */
+    protected OutputStream _base64Out;
+
+    /**
+     * Scratch buffer for bytes decoded with {@link #_base64Variant}; lazily allocated
+     */
+    protected byte[] _base64Buffer;
+
     // And from ParserBase:
 //  protected int _inputPtr;
 //  protected int _inputEnd;
@@ -75,8 +324,99 @@ public class NonBlockingJsonParser
      */
 
     public NonBlockingJsonParser(IOContext ctxt, int parserFeatures, ByteQuadsCanonicalizer sym)
+    {
+        this(ctxt, parserFeatures, sym, false);
+    }
+
+    /**
+     * @param queueInput Whether input fed while there still are undecoded bytes
+     *    should be queued (instead of being rejected): if so, feeding may also
+     *    happen from a different thread than decoding.
+     */
+    public NonBlockingJsonParser(IOContext ctxt, int parserFeatures, ByteQuadsCanonicalizer sym,
+            boolean queueInput)
+    {
+        this(ctxt, parserFeatures, sym, queueInput, null);
+    }
+
+    NonBlockingJsonParser(IOContext ctxt, int parserFeatures, ByteQuadsCanonicalizer sym,
+            boolean queueInput, SymbolTableStripes.Stripe symbolsStripe)
     {
         super(ctxt, parserFeatures, sym);
+        _inputSegments = queueInput ? new ConcurrentLinkedQueue<ByteBuffer>() : null;
+        _symbolsStripe = symbolsStripe;
+        _initialFeatures = parserFeatures;
+    }
+
+    /**
+     * Method for resetting parser to its initial state, to be used for parsing
+     * another (independent) input stream: any undecoded or queued input is dropped.
+     * Buffers and field names learned so far are retained (but not counts of names
+     * missing from symbol table, which are per input, nor record of names added
+     * since last merge to factory); features changed since
+     * construction are restored. If parser has been closed (which happens on its
+     * own at end-of-input), released buffers get re-allocated as needed.
+     */
+    public void reset()
+    {
+        _features = _initialFeatures;
+        _closed = false;
+        _currToken = null;
+        _lastClearedToken = null;
+        _nextToken = null;
+        _numTypesValid = NR_UNKNOWN;
+        _binaryValue = null;
+        _rawTextStart = -1;
+        _rawTextPending = false;
+        _stringChunkListener = null;
+        _stringStreamed = false;
+        _base64Variant = null;
+        _base64Out = null;
+        if (_byteArrayBuilder != null) {
+            _byteArrayBuilder.reset();
+        }
+        _nameCopied = false;
+        _textBuffer.resetWithEmpty();
+        DupDetector dups = Feature.STRICT_DUPLICATE_DETECTION.enabledIn(_features)
+                ? DupDetector.rootDetector(this) : null;
+        _parsingContext = JsonReadContext.createRootContext(dups);
+        _shapeContext = null;
+        _shape = null;
+        if (_nameMisses != null) {
+            Arrays.fill(_nameMisses, 0);
+        }
+        _namesInWindow = 0;
+        _namesPredicted = 0;
+        _addedNameCount = 0;
+
+        _currInputProcessed = 0L;
+        _currInputRow = 1;
+        _currInputRowStart = 0;
+        _currInputRowAlt = 1;
+        _tokenInputTotal = 0L;
+        _tokenInputRow = 1;
+        _tokenInputCol = 0;
+
+        _majorState = MAJOR_INITIAL;
+        _majorStateAfterValue = MAJOR_ROOT;
+        _minorState = 0;
+        _minorStateAfterSplit = 0;
+        _pending32 = 0;
+        _pendingBytes = 0;
+        _quadLength = 0;
+        _endOfInput = false;
+
+        _inputBuffer = ByteBuffer.wrap(NO_BYTES);
+        _inputArray = null;
+        _inputWords = null;
+        _currBufferStart = 0;
+        _inputPtr = 0;
+        _inputEnd = 0;
+        _origBufferLen = 0;
+        if (_inputSegments != null) {
+            _inputSegments.clear();
+            _inputSegmentsClosed = false;
+        }
     }
 
     /*
@@ -92,6 +432,9 @@ public class NonBlockingJsonParser
 
     @Override
     public final boolean needMoreInput() {
+        if (_inputSegments != null) {
+            return (_inputPtr >=_inputEnd) && !_endOfInput && _inputSegments.isEmpty();
+        }
         return (_inputPtr >=_inputEnd) && !_endOfInput;
     }
 
@@ -104,6 +447,16 @@ public class NonBlockingJsonParser
     @Override
     public void feedInput(ByteBuffer byteBuffer) throws IOException
     {
+        if (_inputSegments != null) {
+            if (byteBuffer.limit() < byteBuffer.position()) {
+                _reportError("Input end (%d) may not be before start (%d)", byteBuffer.limit(), byteBuffer.position());
+            }
+            if (_inputSegmentsClosed) {
+                _reportError("Already closed, can not feed more input");
+            }
+            _inputSegments.offer(byteBuffer);
+            return;
+        }
         // Must not have remaining input
         if (_inputPtr < _inputEnd) {
             _reportError("Still have %d undecoded bytes, should not call 'feedInput'", _inputEnd - _inputPtr);
@@ -119,6 +472,30 @@ public class NonBlockingJsonParser
         if (_endOfInput) {
             _reportError("Already closed, can not feed more input");
         }
+        _setInput(byteBuffer, start, end);
+    }
+
+    /**
+     * Switches decoding over to given input chunk, <code>start</code> and <code>end</code>
+     * being its position and limit.
+     */
+    private void _setInput(ByteBuffer byteBuffer, int start, int end)
+    {
+        _releaseRawText();
+        // Heap buffers are read through their backing array, so switch to array offsets
+        if (byteBuffer.hasArray()) {
+            int offset = byteBuffer.arrayOffset();
+            start += offset;
+            end += offset;
+            byte[] array = byteBuffer.array();
+            if ((array != _inputArray) || (_inputWords == null)) {
+                _inputWords = ByteBuffer.wrap(array).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            _inputArray = array;
+        } else {
+            _inputArray = null;
+            _inputWords = byteBuffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        }
         // Time to update pointers first
         _currInputProcessed += _origBufferLen;
 
@@ -126,44 +503,357 @@ public class NonBlockingJsonParser
         _currInputRowStart = start - (_inputEnd - _currInputRowStart);
 
         // And then update buffer settings
+        _currBufferStart = start;
         _inputBuffer = byteBuffer;
         _inputPtr = start;
         _inputEnd = end;
         _origBufferLen = end - start;
+        _inputAscii = _isAscii(start, end);
+    }
+
+    /**
+     * @return True if none of input bytes in given range has high bit set
+     */
+    private final boolean _isAscii(int ptr, final int end)
+    {
+        // stops at the first non-ASCII word: no use reading rest of (say, CJK) input
+        final ByteBuffer inputWords = _inputWords;
+        for (; (ptr + 8) <= end; ptr += 8) {
+            if ((inputWords.getLong(ptr) & SWAR_HIGH_BITS) != 0L) {
+                return false;
+            }
+        }
+        for (; ptr < end; ++ptr) {
+            if (inputWords.get(ptr) < 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public void endOfInput() {
+        if (_inputSegments != null) {
+            // Goes through the queue so that it is only seen after all input fed before it
+            if (!_inputSegmentsClosed) {
+                _inputSegmentsClosed = true;
+                _inputSegments.offer(END_OF_INPUT_SEGMENT);
+            }
+            return;
+        }
         _endOfInput = true;
     }
 
+    /**
+     * Method called in queued input mode when current segment has been exhausted,
+     * to move to the next queued one, if any.
+     *
+     * @return True if there was a segment (or end-of-input marker) to move to
+     */
+    private boolean _nextInputSegment()
+    {
+        final ByteBuffer segment = _inputSegments.poll();
+        if (segment == null) {
+            return false;
+        }
+        if (segment == END_OF_INPUT_SEGMENT) {
+            _endOfInput = true;
+        } else {
+            _setInput(segment, segment.position(), segment.limit());
+        }
+        return true;
+    }
+
     /*
     /**********************************************************************
     /* Abstract methods/overrides from JsonParser
     /**********************************************************************
      */
 
-    /* Implementing these methods efficiently for non-blocking cases would
-     * be complicated; so for now let's just use the default non-optimized
-     * implementation
+    /* Note: as with blocking parsers, methods below return "no match" (false,
+     * null, default value) for any token other than the expected one, including
+     * JsonToken.NOT_AVAILABLE: caller needs to check current token (which,
+     * unlike with plain 'nextToken()', is then always NOT_AVAILABLE) to tell
+     * need for more input apart from an actual mismatch.
+     */
+
+    /**
+     * Compares raw bytes of the next field name (if entirely within current
+     * input chunk) against quoted UTF-8 representation of expected name, to
+     * avoid decoding and symbol table lookup altogether on match. Otherwise
+     * (different or escaped name, name spanning chunks, anything other than
+     * plain white space before it) falls back to regular decoding.
+     */
+    @Override
+    public boolean nextFieldName(SerializableString str) throws IOException
+    {
+        final boolean firstField = (_majorState == MAJOR_OBJECT_FIELD_FIRST);
+        if ((_currToken != JsonToken.NOT_AVAILABLE)
+                && (firstField || (_majorState == MAJOR_OBJECT_FIELD_NEXT))
+                && _matchFieldName(str.asQuotedUTF8())) {
+            _nextObjectShapeField(firstField);
+            _nameFound();
+            _fieldComplete(str.getValue());
+            return true;
+        }
+        return (_nextTokenOrPending() == JsonToken.FIELD_NAME) && str.getValue().equals(_parsingContext.getCurrentName());
+    }
+
+    @Override
+    public String nextFieldName() throws IOException
+    {
+        return (_nextTokenOrPending() == JsonToken.FIELD_NAME) ? _parsingContext.getCurrentName() : null;
+    }
+
+    @Override
+    public String nextTextValue() throws IOException
+    {
+        return (_nextTokenOrPending() == JsonToken.VALUE_STRING) ? getText() : null;
+    }
+
+    @Override
+    public int nextIntValue(int defaultValue) throws IOException
+    {
+        if (_nextTokenOrPending() != JsonToken.VALUE_NUMBER_INT) {
+            return defaultValue;
+        }
+        // short enough values already decoded while scanning
+        return ((_numTypesValid & NR_INT) != 0) ? _numberInt : getIntValue();
+    }
+
+    @Override
+    public long nextLongValue(long defaultValue) throws IOException
+    {
+        if (_nextTokenOrPending() != JsonToken.VALUE_NUMBER_INT) {
+            return defaultValue;
+        }
+        if ((_numTypesValid & NR_LONG) != 0) {
+            return _numberLong;
+        }
+        return ((_numTypesValid & NR_INT) != 0) ? _numberInt : getLongValue();
+    }
+
+    @Override
+    public Boolean nextBooleanValue() throws IOException
+    {
+        JsonToken t = _nextTokenOrPending();
+        if (t == JsonToken.VALUE_TRUE) {
+            return Boolean.TRUE;
+        }
+        if (t == JsonToken.VALUE_FALSE) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    /**
+     * Like {@link #nextToken()}, but if input runs out between tokens (in which
+     * case current token is normally left as is) sets state as if the next
+     * token had been started, so that current token is NOT_AVAILABLE.
+     */
+    private final JsonToken _nextTokenOrPending() throws IOException
+    {
+        final JsonToken t = nextToken();
+        if ((t == JsonToken.NOT_AVAILABLE) && (_currToken != JsonToken.NOT_AVAILABLE)) {
+            final int minorState;
+            switch (_majorState) {
+            case MAJOR_INITIAL: // nothing decoded yet: resumes via start of document
+                minorState = MINOR_ROOT_GOT_SEPARATOR;
+                break;
+            case MAJOR_ROOT:
+            case MAJOR_ARRAY_ELEMENT_FIRST:
+                minorState = MINOR_VALUE_LEADING_WS;
+                break;
+            case MAJOR_ARRAY_ELEMENT_NEXT:
+                minorState = MINOR_VALUE_EXPECTING_COMMA;
+                break;
+            case MAJOR_OBJECT_FIELD_FIRST:
+                minorState = MINOR_FIELD_LEADING_WS;
+                break;
+            case MAJOR_OBJECT_FIELD_NEXT:
+                minorState = MINOR_FIELD_LEADING_COMMA;
+                break;
+            case MAJOR_OBJECT_VALUE:
+                minorState = MINOR_VALUE_EXPECTING_COLON;
+                break;
+            default: // closed
+                return t;
+            }
+            _minorState = minorState;
+            _numTypesValid = NR_UNKNOWN;
+            _binaryValue = null;
+            _rawTextStart = -1;
+            _rawTextPending = false;
+            _currToken = JsonToken.NOT_AVAILABLE;
+        }
+        return t;
+    }
+
+    /**
+     * Checks whether current input chunk has, after optional white space and
+     * comma (if one is expected), given name bytes within double quotes; and if
+     * so, consumes them.
      */
+    private final boolean _matchFieldName(byte[] nameBytes) throws IOException
+    {
+        final int end = _inputEnd;
+        int ptr = _inputPtr;
+        int rows = 0;
+        int altRows = 0;
+        int rowStart = _currInputRowStart;
+        boolean separated = (_majorState == MAJOR_OBJECT_FIELD_FIRST);
 
-//    public boolean nextFieldName(SerializableString str) throws IOException
-//    public String nextTextValue() throws IOException
-//    public int nextIntValue(int defaultValue) throws IOException
-//    public long nextLongValue(long defaultValue) throws IOException
-//    public Boolean nextBooleanValue() throws IOException
+        while (true) {
+            if (ptr >= end) {
+                return false;
+            }
+            int ch = _byteAt(ptr++) & 0xFF;
+            if (ch == INT_QUOTE) {
+                if (!separated) {
+                    return false;
+                }
+                break;
+            }
+            if (ch == INT_COMMA) {
+                if (separated) {
+                    return false;
+                }
+                separated = true;
+            } else if (ch == INT_LF) {
+                ++rows;
+                rowStart = ptr;
+            } else if (ch == INT_CR) {
+                ++altRows;
+                rowStart = ptr;
+            } else if ((ch != INT_SPACE) && (ch != INT_TAB)) {
+                return false;
+            }
+        }
+        final int len = nameBytes.length;
+        if ((ptr + len) >= end) { // need closing quote as well
+            return false;
+        }
+        for (int i = 0; i < len; ++i) {
+            if (_byteAt(ptr + i) != nameBytes[i]) {
+                return false;
+            }
+        }
+        if (_byteAt(ptr + len) != INT_QUOTE) {
+            return false;
+        }
+        // Match: update state same as 'nextToken()' would
+        _currInputRow += rows;
+        _currInputRowAlt += altRows;
+        _currInputRowStart = rowStart;
+        _numTypesValid = NR_UNKNOWN;
+        _binaryValue = null;
+        _rawTextStart = -1;
+        _rawTextPending = false;
+        _inputPtr = ptr;
+        _updateTokenLocation();
+        _inputPtr = ptr + len + 1;
+        return true;
+    }
 
     @Override
     public int releaseBuffered(OutputStream out) throws IOException {
         int avail = _inputEnd - _inputPtr;
         if (avail > 0) {
-            WritableByteChannel channel = Channels.newChannel(out);
-            channel.write(_inputBuffer);
+            if (_inputArray != null) {
+                out.write(_inputArray, _inputPtr, avail);
+            } else {
+                _writeRemaining(_inputBuffer, _inputPtr, _inputEnd, out);
+            }
+        }
+        if (_inputSegments != null) {
+            // Queued segments are not consumed, just like the current one
+            for (ByteBuffer segment : _inputSegments) {
+                if (segment != END_OF_INPUT_SEGMENT) {
+                    avail += _writeRemaining(segment, segment.position(), segment.limit(), out);
+                }
+            }
         }
         return avail;
     }
 
+    private static int _writeRemaining(ByteBuffer buffer, int start, int end, OutputStream out)
+        throws IOException
+    {
+        // Buffer casts keep the calls linkable against Java 8 class library
+        ByteBuffer remaining = buffer.duplicate();
+        ((Buffer) remaining).limit(end);
+        ((Buffer) remaining).position(start);
+        WritableByteChannel channel = Channels.newChannel(out);
+        return channel.write(remaining);
+    }
+
+    @Override
+    protected void _releaseBuffers() throws IOException
+    {
+        // Same as ParserBase, except that merging of symbols is up to the stripe
+        // (and leaves out names of levels flooded with one-off names)
+        _textBuffer.releaseBuffers();
+        char[] buf = _nameCopyBuffer;
+        if (buf != null) {
+            _nameCopyBuffer = null;
+            _ioContext.releaseNameCopyBuffer(buf);
+        }
+        _mergeSymbols();
+    }
+
+    /**
+     * Merges names added to {@link #_symbols} back to the factory (when closing, and
+     * when released to the pool of parsers, as pooled ones are never closed); table
+     * remains usable, copying itself on next new name.
+     */
+    void _mergeSymbols()
+    {
+        if (_symbolsStripe == null) {
+            // no root to create a table without one-off names from
+            if (_floodedLevels == 0) {
+                _symbols.release();
+            }
+        } else {
+            _symbolsStripe.release((_floodedLevels == 0) ? _symbols : _unfloodedSymbols());
+            _addedNameCount = 0;
+        }
+    }
+
+    /**
+     * Creates a table, from the same root as {@link #_symbols}, with just the names
+     * that were added at levels not flooded with one-off names.
+     */
+    private ByteQuadsCanonicalizer _unfloodedSymbols()
+    {
+        // no flags: names were already interned (if enabled) when first added
+        final ByteQuadsCanonicalizer symbols = _symbolsStripe.makeChild(0);
+        int[] quads = new int[8];
+        for (int i = 0; i < _addedNameCount; ++i) {
+            if ((_floodedLevels & (1 << _addedNameLevels[i])) == 0) {
+                final byte[] bytes = _addedNames[i].getBytes(StandardCharsets.UTF_8);
+                final int qlen = (bytes.length + 3) >> 2;
+                if (qlen > quads.length) {
+                    quads = new int[qlen];
+                }
+                JsonFactory.nameQuads(bytes, quads);
+                if (symbols.findName(quads, qlen) == null) {
+                    symbols.addName(_addedNames[i], quads, qlen);
+                }
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * Accessor for a single byte of the current input chunk: indexes backing
+     * array directly for heap buffers, and only uses {@link ByteBuffer#get(int)}
+     * for direct ones.
+     */
+    protected final byte _byteAt(int ptr) {
+        final byte[] array = _inputArray;
+        return (array != null) ? array[ptr] : _inputBuffer.get(ptr);
+    }
+
     // Should never be called: can not be implemented quite as expected
     // due to non-blocking behavior
     @Override
@@ -172,14 +862,413 @@ public class NonBlockingJsonParser
         return ' ';
     }
 
+    /*
+    /**********************************************************************
+    /* Public API, access to String values
+    /**********************************************************************
+     */
+
+    /* Note: plain ASCII String values that end within the input chunk they start
+     * in are not copied into text buffer as they are decoded, only once (and if)
+     * their text is asked for; or when the chunk is about to be let go of.
+     */
+
+    /**
+     * Accessor for the raw (UTF-8) bytes of the current String value, excluding
+     * quotes, for pass-through or hashing without decoding: only available if
+     * value has no escapes and is entirely contained in current input chunk.
+     * Returned view shares content with the input buffer, and is valid until
+     * next call to {@link #nextToken()} (or any other method that advances),
+     * and at most until input chunk is consumed.
+     *
+     * @return Read-only view of value bytes, or <code>null</code> if current token
+     *    is not a String value or its raw bytes are not available
+     */
+    public ByteBuffer getRawTextBytes()
+    {
+        if (_rawTextStart < 0) {
+            return null;
+        }
+        // Buffer casts keep the calls linkable against Java 8 class library
+        ByteBuffer raw = _inputWords.asReadOnlyBuffer();
+        ((Buffer) raw).limit(_rawTextEnd);
+        ((Buffer) raw).position(_rawTextStart);
+        return raw.slice();
+    }
+
+    /**
+     * @return True if raw bytes of the current String value are available
+     *    (see {@link #getRawTextBytes()}) and are all 7-bit ASCII, so that each
+     *    byte is one character
+     */
+    public boolean isRawTextAscii()
+    {
+        return (_rawTextStart >= 0) && _rawTextAscii;
+    }
+
+    /**
+     * Enables handing out of long String values in parts as their input arrives,
+     * instead of accumulating them in full: whenever input runs out within a
+     * String value that has at least <code>minChunkLength</code> characters not
+     * yet handed out, these are passed to given listener. Once any part of a
+     * value has been, rest of it is as well (last part possibly shorter), and
+     * the {@link JsonToken#VALUE_STRING} token then returned has empty text.
+     * Shorter values are returned as usual.
+     *<p>
+     * Listener is cleared by {@link #reset()}.
+     *
+     * @param listener Listener to call, or <code>null</code> to accumulate values
+     *    in full (which is the default)
+     * @param minChunkLength Minimum number of characters of a part (other than the last)
+     */
+    public void setStringChunkListener(StringChunkListener listener, int minChunkLength)
+    {
+        if (minChunkLength < 1) {
+            throw new IllegalArgumentException("Minimum chunk length must be positive, was "+minChunkLength);
+        }
+        _stringChunkListener = listener;
+        _stringChunkLength = minChunkLength;
+    }
+
+    /**
+     * Makes the next token, if it is a String value, be decoded as Base64 as its
+     * input arrives (whenever input runs out within it) instead of accumulating
+     * its text in full, so that only about one input chunk worth of it is kept
+     * at any time. Once the value is complete, the {@link JsonToken#VALUE_STRING}
+     * token returned has empty text. Has no effect if the next token is something
+     * else; and precedes handing out of the value to a {@link StringChunkListener}.
+     *
+     * @param b64variant Base64 variant to decode value with
+     * @param out Stream to write decoded bytes to as they are decoded; or
+     *    <code>null</code> to collect them, to be accessed with
+     *    {@link #getBinaryValue()} once value is complete
+     */
+    public void decodeNextBinaryValue(Base64Variant b64variant, OutputStream out)
+    {
+        _base64Variant = b64variant;
+        _base64Out = (out == null) ? _getByteArrayBuilder() : out;
+    }
+
+    @Override
+    public boolean hasTextCharacters()
+    {
+        if (_rawTextPending) {
+            _decodeRawText();
+        }
+        return super.hasTextCharacters();
+    }
+
+    @Override
+    public String getText() throws IOException
+    {
+        if (_rawTextPending) {
+            _decodeRawText();
+        }
+        return super.getText();
+    }
+
+    @Override
+    public int getText(Writer writer) throws IOException
+    {
+        if (_rawTextPending) {
+            _decodeRawText();
+        }
+        return super.getText(writer);
+    }
+
+    @Override
+    public String getValueAsString() throws IOException
+    {
+        if (_rawTextPending) {
+            _decodeRawText();
+        }
+        return super.getValueAsString();
+    }
+
+    @Override
+    public String getValueAsString(String defValue) throws IOException
+    {
+        if (_rawTextPending) {
+            _decodeRawText();
+        }
+        return super.getValueAsString(defValue);
+    }
+
+    @Override
+    public char[] getTextCharacters() throws IOException
+    {
+        if (_rawTextPending) {
+            _decodeRawText();
+        }
+        return super.getTextCharacters();
+    }
+
+    @Override
+    public int getTextLength() throws IOException
+    {
+        if (_rawTextPending) {
+            _decodeRawText();
+        }
+        return super.getTextLength();
+    }
+
+    @Override
+    public int getTextOffset() throws IOException
+    {
+        if (_rawTextPending) {
+            _decodeRawText();
+        }
+        return super.getTextOffset();
+    }
+
+    /**
+     * Called before input chunk may be released or reused by caller: copies
+     * current String value into text buffer if not yet done, and drops access
+     * to its raw bytes.
+     */
+    private final void _releaseRawText()
+    {
+        if (_rawTextPending) {
+            _decodeRawText();
+        }
+        _rawTextStart = -1;
+    }
+
+    /**
+     * Copies deferred (ASCII-only, so one char per byte) String value into text buffer
+     */
+    private final void _decodeRawText()
+    {
+        _rawTextPending = false;
+        _copyRawText(_rawTextStart, _rawTextEnd);
+    }
+
+    /**
+     * Copies given range of input, known to have only plain ASCII bytes, into
+     * (emptied) text buffer
+     */
+    private final void _copyRawText(int ptr, int end)
+    {
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        int outPtr = 0;
+        while (true) {
+            final int max = Math.min(end, ptr + (outBuf.length - outPtr));
+            final int run = _copyAsciiRun(ptr, max, outBuf, outPtr);
+            ptr += run;
+            outPtr += run;
+            while (ptr < max) {
+                outBuf[outPtr++] = (char) _byteAt(ptr++);
+            }
+            if (ptr >= end) {
+                break;
+            }
+            outBuf = _textBuffer.finishCurrentSegment();
+            outPtr = 0;
+        }
+        _textBuffer.setCurrentLength(outPtr);
+    }
+
     /*
     /**********************************************************************
     /* Main-level decoding
     /**********************************************************************
      */
 
-    @Override
-    public JsonToken nextToken() throws IOException
+    @Override
+    public JsonToken nextToken() throws IOException
+    {
+        JsonToken t = _nextToken();
+        if ((_stringChunkListener != null) || (_base64Variant != null)) {
+            _streamString(t);
+        }
+        if ((t == JsonToken.NOT_AVAILABLE) && (_inputSegments != null)) {
+            // Current segment exhausted (possibly mid-token): resume from queued ones
+            while ((t == JsonToken.NOT_AVAILABLE) && _nextInputSegment()) {
+                t = _nextToken();
+                if ((_stringChunkListener != null) || (_base64Variant != null)) {
+                    _streamString(t);
+                }
+            }
+        }
+        return t;
+    }
+
+    /**
+     * Decodes accumulated text of current String value as Base64, if asked to,
+     * or hands it to {@link #_stringChunkListener}: when input ran out within
+     * the value (and for the latter, value is long enough), or when value has been
+     * completed (and for the latter, earlier parts of it were handed out).
+     */
+    private final void _streamString(JsonToken t) throws IOException
+    {
+        if (t == JsonToken.NOT_AVAILABLE) {
+            if (_currToken != JsonToken.NOT_AVAILABLE) {
+                return;
+            }
+            switch (_minorState) {
+            case MINOR_VALUE_STRING:
+            case MINOR_VALUE_STRING_ESCAPE:
+            case MINOR_VALUE_STRING_UTF8_2:
+            case MINOR_VALUE_STRING_UTF8_3:
+            case MINOR_VALUE_STRING_UTF8_4:
+            case MINOR_VALUE_APOS_STRING:
+                if (_base64Variant != null) {
+                    _decodeBase64Chunk(false);
+                } else if (_textBuffer.size() >= _stringChunkLength) {
+                    _stringStreamed = true;
+                    _emitStringChunk(false);
+                }
+                break;
+            default:
+            }
+            return;
+        }
+        if (t == JsonToken.VALUE_STRING) {
+            if (_base64Variant != null) {
+                _decodeBase64Chunk(true);
+            } else if (_stringStreamed) {
+                _stringStreamed = false;
+                _emitStringChunk(true);
+            }
+        }
+        // decoding as Base64 only applies to the very next token
+        _base64Variant = null;
+        _base64Out = null;
+    }
+
+    private final void _emitStringChunk(boolean last) throws IOException
+    {
+        final TextBuffer textBuffer = _textBuffer;
+        _stringChunkListener.stringChunk(textBuffer.getTextBuffer(), textBuffer.getTextOffset(),
+                textBuffer.size(), last);
+        // keeps current segment, into which decoding continues
+        textBuffer.resetWithEmpty();
+    }
+
+    /**
+     * Decodes text of current String value accumulated so far as Base64 (except
+     * for a partial unit, if more is to come), and writes out decoded bytes.
+     *
+     * @param last Whether value is complete
+     */
+    private final void _decodeBase64Chunk(boolean last) throws IOException
+    {
+        if (_rawTextPending) {
+            _decodeRawText();
+        }
+        final Base64Variant b64variant = _base64Variant;
+        final TextBuffer textBuffer = _textBuffer;
+        final char[] buf = textBuffer.getTextBuffer();
+        final int end = textBuffer.getTextOffset() + textBuffer.size();
+        int ptr = textBuffer.getTextOffset();
+        byte[] outBuf = _base64Buffer;
+        if (outBuf == null) {
+            _base64Buffer = outBuf = new byte[BASE64_BUFFER_LENGTH];
+        }
+        int outPtr = 0;
+
+        // Same as Base64Variant.decode(), except for stopping at a partial unit
+        try {
+            main_loop:
+            while (true) {
+                char ch;
+                do {
+                    if (ptr >= end) {
+                        break main_loop;
+                    }
+                    ch = buf[ptr++];
+                } while (ch <= INT_SPACE);
+                if (!last && ((end - ptr) < 3)) { // rest of unit yet to come
+                    --ptr;
+                    break;
+                }
+                if (outPtr > (outBuf.length - 3)) {
+                    _base64Out.write(outBuf, 0, outPtr);
+                    outPtr = 0;
+                }
+                int bits = b64variant.decodeBase64Char(ch);
+                if (bits < 0) {
+                    throw reportInvalidBase64Char(b64variant, ch, 0);
+                }
+                int decodedData = bits;
+                if (ptr >= end) {
+                    throw new IllegalArgumentException(BASE64_EOF);
+                }
+                ch = buf[ptr++];
+                bits = b64variant.decodeBase64Char(ch);
+                if (bits < 0) {
+                    throw reportInvalidBase64Char(b64variant, ch, 1);
+                }
+                decodedData = (decodedData << 6) | bits;
+                if (ptr >= end) {
+                    if (!b64variant.usesPadding()) {
+                        outBuf[outPtr++] = (byte) (decodedData >> 4);
+                        break;
+                    }
+                    throw new IllegalArgumentException(BASE64_EOF);
+                }
+                ch = buf[ptr++];
+                bits = b64variant.decodeBase64Char(ch);
+                if (bits < 0) {
+                    if (bits != Base64Variant.BASE64_VALUE_PADDING) {
+                        throw reportInvalidBase64Char(b64variant, ch, 2);
+                    }
+                    if (ptr >= end) {
+                        throw new IllegalArgumentException(BASE64_EOF);
+                    }
+                    ch = buf[ptr++];
+                    if (!b64variant.usesPaddingChar(ch)) {
+                        throw reportInvalidBase64Char(b64variant, ch, 3,
+                                "expected padding character '"+b64variant.getPaddingChar()+"'");
+                    }
+                    outBuf[outPtr++] = (byte) (decodedData >> 4);
+                    continue;
+                }
+                decodedData = (decodedData << 6) | bits;
+                if (ptr >= end) {
+                    if (!b64variant.usesPadding()) {
+                        outBuf[outPtr++] = (byte) (decodedData >> 10);
+                        outBuf[outPtr++] = (byte) (decodedData >> 2);
+                        break;
+                    }
+                    throw new IllegalArgumentException(BASE64_EOF);
+                }
+                ch = buf[ptr++];
+                bits = b64variant.decodeBase64Char(ch);
+                if (bits < 0) {
+                    if (bits != Base64Variant.BASE64_VALUE_PADDING) {
+                        throw reportInvalidBase64Char(b64variant, ch, 3);
+                    }
+                    outBuf[outPtr++] = (byte) (decodedData >> 10);
+                    outBuf[outPtr++] = (byte) (decodedData >> 2);
+                } else {
+                    decodedData = (decodedData << 6) | bits;
+                    outBuf[outPtr++] = (byte) (decodedData >> 16);
+                    outBuf[outPtr++] = (byte) (decodedData >> 8);
+                    outBuf[outPtr++] = (byte) decodedData;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            _reportError(e.getMessage());
+        }
+        if (outPtr > 0) {
+            _base64Out.write(outBuf, 0, outPtr);
+        }
+        // Partial unit (at most 3 chars) is kept for the next round; buffer
+        // may be the current segment, but copying forward is safe
+        textBuffer.resetWithEmpty();
+        for (; ptr < end; ++ptr) {
+            textBuffer.append(buf[ptr]);
+        }
+        if (last) {
+            _rawTextStart = -1;
+            if (_base64Out == _byteArrayBuilder) { // collected, not written out
+                _binaryValue = _byteArrayBuilder.toByteArray();
+            }
+        }
+    }
+
+    private final JsonToken _nextToken() throws IOException
     {
         // First: regardless of where we really are, need at least one more byte;
         // can simplify some of the checks by short-circuiting right away
@@ -187,6 +1276,8 @@ public class NonBlockingJsonParser
             if (_closed) {
                 return null;
             }
+            // caller may release or reuse input chunk once it is consumed
+            _releaseRawText();
             // note: if so, do not even bother changing state
             if (_endOfInput) { // except for this special case
                 // End-of-input within (possibly...) started token is bit complicated,
@@ -205,10 +1296,12 @@ public class NonBlockingJsonParser
 
         // No: fresh new token; may or may not have existing one
         _numTypesValid = NR_UNKNOWN;
-        _tokenInputTotal = _currInputProcessed + _inputPtr;
+        _tokenInputTotal = _currInputProcessed + (_inputPtr - _currBufferStart);
         // also: clear any data retained so far
         _binaryValue = null;
-        int ch = _inputBuffer.get(_inputPtr++) & 0xFF;
+        _rawTextStart = -1;
+        _rawTextPending = false;
+        int ch = _byteAt(_inputPtr++) & 0xFF;
 
         switch (_majorState) {
         case MAJOR_INITIAL:
@@ -243,6 +1336,177 @@ public class NonBlockingJsonParser
         //    exception or not? For now, quietly ignore
     }
 
+    /*
+    /**********************************************************************
+    /* Skipping
+    /**********************************************************************
+     */
+
+    /**
+     * Overridden to skip contents of an Object or Array without decoding them:
+     * only quotes, escapes and brackets are looked at (so nested content is not
+     * validated). If input ends before the matching close marker, current token
+     * becomes {@link JsonToken#NOT_AVAILABLE} and skipping continues as more input
+     * is fed and {@link #nextToken()} called: first token it returns other than
+     * <code>NOT_AVAILABLE</code> is the matching <code>END_OBJECT</code> or
+     * <code>END_ARRAY</code>.
+     *<p>
+     * Note that this differs from the {@link JsonParser#skipChildren()} contract,
+     * under which current token is that close marker once the call returns: here it
+     * may instead be <code>NOT_AVAILABLE</code>, so callers need to check.
+     *<p>
+     * Non-standard features that change tokenization (comments, single quotes)
+     * use default token-by-token skipping instead.
+     */
+    @Override
+    public JsonParser skipChildren() throws IOException
+    {
+        if ((_currToken != JsonToken.START_OBJECT) && (_currToken != JsonToken.START_ARRAY)) {
+            return this;
+        }
+        if ((_features & (FEAT_MASK_ALLOW_JAVA_COMMENTS | FEAT_MASK_ALLOW_YAML_COMMENTS
+                | FEAT_MASK_ALLOW_SINGLE_QUOTES)) != 0) {
+            return super.skipChildren();
+        }
+        _skipDepth = 1;
+        _skipState = SKIP_STRUCTURE;
+        _minorState = MINOR_SKIP_CHILDREN;
+        _currToken = JsonToken.NOT_AVAILABLE;
+        if ((_finishSkipChildren() == JsonToken.NOT_AVAILABLE) && (_inputSegments != null)) {
+            // may continue with queued input
+            nextToken();
+        }
+        return this;
+    }
+
+    /**
+     * Method for checking whether the Object or Array that the parser is at the
+     * start of ends within current input buffer, so that all of its tokens can be
+     * read without running out of input. Input is only scanned (like with
+     * {@link #skipChildren()}), not consumed.
+     *
+     * @return True if current token is <code>START_OBJECT</code> or
+     *    <code>START_ARRAY</code> and its matching close marker is within current
+     *    input; false otherwise, as well as if non-standard features that change
+     *    tokenization (comments, single quotes) are enabled
+     */
+    public boolean isStructureComplete()
+    {
+        if ((_currToken != JsonToken.START_OBJECT) && (_currToken != JsonToken.START_ARRAY)) {
+            return false;
+        }
+        if ((_features & (FEAT_MASK_ALLOW_JAVA_COMMENTS | FEAT_MASK_ALLOW_YAML_COMMENTS
+                | FEAT_MASK_ALLOW_SINGLE_QUOTES)) != 0) {
+            return false;
+        }
+        int ptr = _inputPtr;
+        final int end = _inputEnd;
+        int depth = 1;
+
+        while (ptr < end) {
+            int ch = _byteAt(ptr++);
+            switch (ch) {
+            case INT_QUOTE:
+                while (true) {
+                    ptr = _skipStringContent(ptr, end);
+                    if (ptr >= end) {
+                        return false;
+                    }
+                    if (_byteAt(ptr++) == INT_QUOTE) {
+                        break;
+                    }
+                    ++ptr; // escaped char can not end String
+                }
+                break;
+            case INT_LCURLY:
+            case INT_LBRACKET:
+                ++depth;
+                break;
+            case INT_RCURLY:
+            case INT_RBRACKET:
+                if (--depth == 0) {
+                    return true;
+                }
+                break;
+            default:
+            }
+        }
+        return false;
+    }
+
+    protected final JsonToken _finishSkipChildren() throws IOException
+    {
+        int ptr = _inputPtr;
+        final int end = _inputEnd;
+        int depth = _skipDepth;
+        int state = _skipState;
+
+        while (ptr < end) {
+            if (state != SKIP_STRUCTURE) {
+                if (state == SKIP_STRING_ESCAPE) { // escaped char can not end String
+                    ++ptr;
+                    state = SKIP_STRING;
+                    continue;
+                }
+                ptr = _skipStringContent(ptr, end);
+                if (ptr >= end) {
+                    break;
+                }
+                state = (_byteAt(ptr++) == INT_QUOTE) ? SKIP_STRUCTURE : SKIP_STRING_ESCAPE;
+                continue;
+            }
+            int ch = _byteAt(ptr++);
+            switch (ch) {
+            case INT_QUOTE:
+                state = SKIP_STRING;
+                break;
+            case INT_LCURLY:
+            case INT_LBRACKET:
+                ++depth;
+                break;
+            case INT_RCURLY:
+            case INT_RBRACKET:
+                if (--depth == 0) {
+                    _inputPtr = ptr;
+                    return (ch == INT_RCURLY) ? _closeObjectScope() : _closeArrayScope();
+                }
+                break;
+            default:
+            }
+        }
+        _inputPtr = ptr;
+        _skipDepth = depth;
+        _skipState = state;
+        return JsonToken.NOT_AVAILABLE;
+    }
+
+    /**
+     * @return Pointer to first quote or backslash at or after <code>ptr</code>,
+     *    or <code>end</code> if none
+     */
+    private final int _skipStringContent(int ptr, final int end)
+    {
+        final ByteBuffer inputWords = _inputWords;
+        while ((ptr + 8) <= end) {
+            final long word = inputWords.getLong(ptr);
+            final long quotes = word ^ (SWAR_ONES * INT_QUOTE);
+            final long escapes = word ^ (SWAR_ONES * INT_BACKSLASH);
+            final long found = (((quotes - SWAR_ONES) & ~quotes)
+                    | ((escapes - SWAR_ONES) & ~escapes)) & SWAR_HIGH_BITS;
+            if (found != 0L) {
+                return ptr + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+            ptr += 8;
+        }
+        for (; ptr < end; ++ptr) {
+            final int ch = _byteAt(ptr);
+            if ((ch == INT_QUOTE) || (ch == INT_BACKSLASH)) {
+                break;
+            }
+        }
+        return ptr;
+    }
+
     /**
      * Method called when decoding of a token has been started, but not yet completed due
      * to missing input; method is to continue decoding due to at least one more byte
@@ -251,17 +1515,41 @@ public class NonBlockingJsonParser
     protected final JsonToken _finishToken() throws IOException
     {
         // NOTE: caller ensures there's input available...
+        // Only states that regularly get split by chunk boundaries are handled here,
+        // to keep this method small enough to be inlined; others by `_finishTokenRare()`
         switch (_minorState) {
-        case MINOR_ROOT_BOM:
-            return _finishBOM(_pending32);
         case MINOR_FIELD_LEADING_WS:
-            return _startFieldName(_inputBuffer.get(_inputPtr++) & 0xFF);
+            return _startFieldName(_byteAt(_inputPtr++) & 0xFF);
         case MINOR_FIELD_LEADING_COMMA:
-            return _startFieldNameAfterComma(_inputBuffer.get(_inputPtr++) & 0xFF);
-
-        // Field name states
+            return _startFieldNameAfterComma(_byteAt(_inputPtr++) & 0xFF);
         case MINOR_FIELD_NAME:
             return _parseEscapedName(_quadLength,  _pending32, _pendingBytes);
+
+        case MINOR_VALUE_LEADING_WS:
+            return _startValue(_byteAt(_inputPtr++) & 0xFF);
+        case MINOR_VALUE_EXPECTING_COMMA:
+            return _startValueExpectComma(_byteAt(_inputPtr++) & 0xFF);
+        case MINOR_VALUE_EXPECTING_COLON:
+            return _startValueExpectColon(_byteAt(_inputPtr++) & 0xFF);
+
+        case MINOR_VALUE_STRING:
+            return _finishRegularString(-1);
+        case MINOR_NUMBER_INTEGER_DIGITS:
+            return _finishNumberIntegralPart(_textBuffer.getBufferWithoutReset(),
+                    _textBuffer.getCurrentSegmentSize());
+        }
+        return _finishTokenRare();
+    }
+
+    private final JsonToken _finishTokenRare() throws IOException
+    {
+        switch (_minorState) {
+        case MINOR_ROOT_BOM:
+            return _finishBOM(_pending32);
+        case MINOR_ROOT_GOT_SEPARATOR: // set by _nextTokenOrPending() before first token
+            return _startDocument(_byteAt(_inputPtr++) & 0xFF);
+
+        // Field name states
         case MINOR_FIELD_NAME_ESCAPE:
             return _finishFieldWithEscape();
         case MINOR_FIELD_APOS_NAME:
@@ -271,15 +1559,8 @@ public class NonBlockingJsonParser
 
         // Value states
 
-        case MINOR_VALUE_LEADING_WS:
-            return _startValue(_inputBuffer.get(_inputPtr++) & 0xFF);
         case MINOR_VALUE_WS_AFTER_COMMA:
-            return _startValueAfterComma(_inputBuffer.get(_inputPtr++) & 0xFF);
-        case MINOR_VALUE_EXPECTING_COMMA:
-            return _startValueExpectComma(_inputBuffer.get(_inputPtr++) & 0xFF);
-        case MINOR_VALUE_EXPECTING_COLON:
-            return _startValueExpectColon(_inputBuffer.get(_inputPtr++) & 0xFF);
-
+            return _startValueAfterComma(_byteAt(_inputPtr++) & 0xFF);
         case MINOR_VALUE_TOKEN_NULL:
             return _finishKeywordToken("null", _pending32, JsonToken.VALUE_NULL);
         case MINOR_VALUE_TOKEN_TRUE:
@@ -290,45 +1571,40 @@ public class NonBlockingJsonParser
             return _finishNonStdToken(_nonStdTokenType, _pending32);
 
         case MINOR_NUMBER_MINUS:
-            return _finishNumberMinus(_inputBuffer.get(_inputPtr++) & 0xFF);
+            return _finishNumberMinus(_byteAt(_inputPtr++) & 0xFF);
         case MINOR_NUMBER_ZERO:
             return _finishNumberLeadingZeroes();
         case MINOR_NUMBER_MINUSZERO:
             return _finishNumberLeadingNegZeroes();
-        case MINOR_NUMBER_INTEGER_DIGITS:
-            return _finishNumberIntegralPart(_textBuffer.getBufferWithoutReset(),
-                    _textBuffer.getCurrentSegmentSize());
         case MINOR_NUMBER_FRACTION_DIGITS:
             return _finishFloatFraction();
         case MINOR_NUMBER_EXPONENT_MARKER:
-            return _finishFloatExponent(true, _inputBuffer.get(_inputPtr++) & 0xFF);
+            return _finishFloatExponent(true, _byteAt(_inputPtr++) & 0xFF);
         case MINOR_NUMBER_EXPONENT_DIGITS:
-            return _finishFloatExponent(false, _inputBuffer.get(_inputPtr++) & 0xFF);
+            return _finishFloatExponent(false, _byteAt(_inputPtr++) & 0xFF);
 
-        case MINOR_VALUE_STRING:
-            return _finishRegularString();
         case MINOR_VALUE_STRING_UTF8_2:
-            _textBuffer.append((char) _decodeUTF8_2(_pending32, _inputBuffer.get(_inputPtr++)));
+            _textBuffer.append((char) _decodeUTF8_2(_pending32, _byteAt(_inputPtr++)));
             if (_minorStateAfterSplit == MINOR_VALUE_APOS_STRING) {
                 return _finishAposString();
             }
-            return _finishRegularString();
+            return _finishRegularString(-1);
         case MINOR_VALUE_STRING_UTF8_3:
-            if (!_decodeSplitUTF8_3(_pending32, _pendingBytes, _inputBuffer.get(_inputPtr++))) {
+            if (!_decodeSplitUTF8_3(_pending32, _pendingBytes, _byteAt(_inputPtr++))) {
                 return JsonToken.NOT_AVAILABLE;
             }
             if (_minorStateAfterSplit == MINOR_VALUE_APOS_STRING) {
                 return _finishAposString();
             }
-            return _finishRegularString();
+            return _finishRegularString(-1);
         case MINOR_VALUE_STRING_UTF8_4:
-            if (!_decodeSplitUTF8_4(_pending32, _pendingBytes, _inputBuffer.get(_inputPtr++))) {
+            if (!_decodeSplitUTF8_4(_pending32, _pendingBytes, _byteAt(_inputPtr++))) {
                 return JsonToken.NOT_AVAILABLE;
             }
             if (_minorStateAfterSplit == MINOR_VALUE_APOS_STRING) {
                 return _finishAposString();
             }
-            return _finishRegularString();
+            return _finishRegularString(-1);
 
         case MINOR_VALUE_STRING_ESCAPE:
             {
@@ -341,7 +1617,7 @@ public class NonBlockingJsonParser
             if (_minorStateAfterSplit == MINOR_VALUE_APOS_STRING) {
                 return _finishAposString();
             }
-            return _finishRegularString();
+            return _finishRegularString(-1);
 
         case MINOR_VALUE_APOS_STRING:
             return _finishAposString();
@@ -361,6 +1637,9 @@ public class NonBlockingJsonParser
             return _finishCppComment(_pending32);
         case MINOR_COMMENT_YAML:
             return _finishHashComment(_pending32);
+
+        case MINOR_SKIP_CHILDREN:
+            return _finishSkipChildren();
         }
         VersionUtil.throwInternal();
         return null;
@@ -409,7 +1688,7 @@ public class NonBlockingJsonParser
                 }
                 _intLength = len;
             }
-            return _valueComplete(JsonToken.VALUE_NUMBER_INT);
+            return _valueCompleteIntegral();
 
         case MINOR_NUMBER_FRACTION_DIGITS:
             _expLength = 0;
@@ -432,7 +1711,11 @@ public class NonBlockingJsonParser
         case MINOR_COMMENT_YAML:
             // within C++/YAML comments, ok, as long as major state agrees...
             return _eofAsNextToken();
-            
+
+        case MINOR_SKIP_CHILDREN:
+            _reportInvalidEOF(": was expecting closing marker of skipped content", JsonToken.NOT_AVAILABLE);
+            return t; // never gets here
+
         default:
         }
         _reportInvalidEOF(": was expecting rest of token (internal state: "+_minorState+")", _currToken);
@@ -478,7 +1761,7 @@ public class NonBlockingJsonParser
                 }
                 return JsonToken.NOT_AVAILABLE;
             }
-            ch = _inputBuffer.get(_inputPtr++) & 0xFF;
+            ch = _byteAt(_inputPtr++) & 0xFF;
         }
         return _startValue(ch);
     }
@@ -490,7 +1773,7 @@ public class NonBlockingJsonParser
         // public final static byte UTF8_BOM_3 = (byte) 0xBF;
 
         while (_inputPtr < _inputEnd) {
-            int ch = _inputBuffer.get(_inputPtr++) & 0xFF;
+            int ch = _byteAt(_inputPtr++) & 0xFF;
             switch (bytesHandled) {
             case 3:
                 // got it all; go back to "start document" handling, without changing
@@ -542,17 +1825,10 @@ public class NonBlockingJsonParser
             }
             return _handleOddName(ch);
         }
-        // First: can we optimize out bounds checks?
-        if ((_inputPtr + 13) <= _inputEnd) { // Need up to 12 chars, plus one trailing (quote)
-            String n = _fastParseName();
-            if (n != null) {
-                return _fieldComplete(n);
-            }
-        }
-        return _parseEscapedName(0, 0, 0);
+        return _startQuotedName(true);
     }
 
-    private final JsonToken _startFieldNameAfterComma(int ch) throws IOException
+    protected JsonToken _startFieldNameAfterComma(int ch) throws IOException
     {
         // First: any leading white space?
         if (ch <= 0x0020) {
@@ -579,7 +1855,7 @@ public class NonBlockingJsonParser
             _minorState = MINOR_FIELD_LEADING_WS;
             return (_currToken = JsonToken.NOT_AVAILABLE);
         }
-        ch = _inputBuffer.get(ptr);
+        ch = _byteAt(ptr);
         _inputPtr = ptr+1;
         if (ch <= 0x0020) {
             ch = _skipWS(ch);
@@ -590,21 +1866,56 @@ public class NonBlockingJsonParser
         }
         _updateTokenLocation();
         if (ch != INT_QUOTE) {
-            if (ch == INT_RCURLY) {
-                if ((_features & FEAT_MASK_TRAILING_COMMA) != 0) {
-                    return _closeObjectScope();
-                }
+            return _startOddNameAfterComma(ch);
+        }
+        return _startQuotedName(false);
+    }
+
+    /**
+     * Method called for anything but opening quote where a field name is expected
+     * after comma: closing marker (if trailing commas allowed) or non-standard name
+     */
+    protected final JsonToken _startOddNameAfterComma(int ch) throws IOException
+    {
+        if (ch == INT_RCURLY) {
+            if ((_features & FEAT_MASK_TRAILING_COMMA) != 0) {
+                return _closeObjectScope();
             }
-            return _handleOddName(ch);
         }
+        return _handleOddName(ch);
+    }
+
+    /**
+     * Method called after opening quote of a field name: first checks whether
+     * name is the one predicted by field order of the previous Object at the
+     * same nesting level, comparing raw bytes; and if not, decodes it (and
+     * remembers it for next Object, if it was completely within current chunk)
+     *
+     * @param firstField Whether this is the first field of the Object
+     */
+    protected final JsonToken _startQuotedName(boolean firstField) throws IOException
+    {
+        final ObjectShape shape = _nextObjectShapeField(firstField);
+        String n = _predictedName(shape);
+        if (n != null) {
+            return _fieldComplete(n);
+        }
+        final int start = _inputPtr;
+        JsonToken t = null;
         // First: can we optimize out bounds checks?
         if ((_inputPtr + 13) <= _inputEnd) { // Need up to 12 chars, plus one trailing (quote)
-            String n = _fastParseName();
+            n = _fastParseName();
             if (n != null) {
-                return _fieldComplete(n);
+                t = _fieldComplete(n);
             }
         }
-        return _parseEscapedName(0, 0, 0);
+        if (t == null) {
+            t = _parseEscapedName(0, 0, 0);
+        }
+        if ((t == JsonToken.FIELD_NAME) && (shape.misses < SHAPE_MISS_LIMIT)) {
+            _predictName(shape, start);
+        }
+        return t;
     }
 
     /*
@@ -618,7 +1929,7 @@ public class NonBlockingJsonParser
      * decode it if contained in input buffer.
      * Value may be preceded by leading white-space, but no separator (comma).
      */
-    private final JsonToken _startValue(int ch) throws IOException
+    protected JsonToken _startValue(int ch) throws IOException
     {
         // First: any leading white space?
         if (ch <= 0x0020) {
@@ -678,7 +1989,7 @@ public class NonBlockingJsonParser
      * Helper method called to parse token that is either a value token in array
      * or end-array marker
      */
-    private final JsonToken _startValueExpectComma(int ch) throws IOException
+    protected JsonToken _startValueExpectComma(int ch) throws IOException
     {
         // First: any leading white space?
         if (ch <= 0x0020) {
@@ -695,20 +2006,14 @@ public class NonBlockingJsonParser
             if (ch == INT_RCURLY){
                 return _closeObjectScope();
             }
-            if (ch == INT_SLASH) {
-                return _startSlashComment(MINOR_VALUE_EXPECTING_COMMA);
-            }
-            if (ch == INT_HASH) {
-                return _finishHashComment(MINOR_VALUE_EXPECTING_COMMA);
-            }
-            _reportUnexpectedChar(ch, "was expecting comma to separate "+_parsingContext.typeDesc()+" entries");
+            return _startSeparatorRare(ch, MINOR_VALUE_EXPECTING_COMMA);
         }
         int ptr = _inputPtr;
         if (ptr >= _inputEnd) {
             _minorState = MINOR_VALUE_WS_AFTER_COMMA;
             return (_currToken = JsonToken.NOT_AVAILABLE);
         }
-        ch = _inputBuffer.get(ptr);
+        ch = _byteAt(ptr);
         _inputPtr = ptr+1;
         if (ch <= 0x0020) {
             ch = _skipWS(ch);
@@ -721,13 +2026,13 @@ public class NonBlockingJsonParser
         if (ch == INT_QUOTE) {
             return _startString();
         }
+        // digits checked as range, as switch entries would take much of size limit for inlining
+        if ((ch > INT_0) && (ch <= INT_9)) {
+            return _startPositiveNumber(ch);
+        }
         switch (ch) {
-        case '#':
-            return _finishHashComment(MINOR_VALUE_WS_AFTER_COMMA);
         case '-':
             return _startNegativeNumber();
-        case '/':
-            return _startSlashComment(MINOR_VALUE_WS_AFTER_COMMA);
 
         // Should we have separate handling for plus? Although
         // it is not allowed per se, it may be erroneously used,
@@ -735,12 +2040,6 @@ public class NonBlockingJsonParser
         case '0':
             return _startNumberLeadingZero();
 
-        case '1':
-        case '2': case '3':
-        case '4': case '5':
-        case '6': case '7':
-        case '8': case '9':
-            return _startPositiveNumber(ch);
         case 'f':
             return _startFalseToken();
         case 'n':
@@ -749,23 +2048,12 @@ public class NonBlockingJsonParser
             return _startTrueToken();
         case '[':
             return _startArrayScope();
-        case ']':
-            // Was that a trailing comma?
-            if ((_features & FEAT_MASK_TRAILING_COMMA) != 0) {
-                return _closeArrayScope();
-            }
-            break;
         case '{':
             return _startObjectScope();
-        case '}':
-            // Was that a trailing comma?
-            if ((_features & FEAT_MASK_TRAILING_COMMA) != 0) {
-                return _closeObjectScope();
-            }
-            break;
         default:
         }
-        return _startUnexpectedValue(true, ch);
+        // comments, trailing comma and missing value
+        return _startValueRare(ch, MINOR_VALUE_WS_AFTER_COMMA, true);
     }
 
     /**
@@ -773,7 +2061,7 @@ public class NonBlockingJsonParser
      * decode it if contained in input buffer.
      * Value MUST be preceded by a semi-colon (which may be surrounded by white-space)
      */
-    private final JsonToken _startValueExpectColon(int ch) throws IOException
+    protected JsonToken _startValueExpectColon(int ch) throws IOException
     {
         // First: any leading white space?
         if (ch <= 0x0020) {
@@ -784,21 +2072,14 @@ public class NonBlockingJsonParser
             }
         }
         if (ch != INT_COLON) {
-            if (ch == INT_SLASH) {
-                return _startSlashComment(MINOR_VALUE_EXPECTING_COLON);
-            }
-            if (ch == INT_HASH) {
-                return _finishHashComment(MINOR_VALUE_EXPECTING_COLON);
-            }
-            // can not omit colon here
-            _reportUnexpectedChar(ch, "was expecting a colon to separate field name and value");
+            return _startSeparatorRare(ch, MINOR_VALUE_EXPECTING_COLON);
         }
         int ptr = _inputPtr;
         if (ptr >= _inputEnd) {
             _minorState = MINOR_VALUE_LEADING_WS;
             return (_currToken = JsonToken.NOT_AVAILABLE);
         }
-        ch = _inputBuffer.get(ptr);
+        ch = _byteAt(ptr);
         _inputPtr = ptr+1;
         if (ch <= 0x0020) {
             ch = _skipWS(ch); // will skip through all available ws (and comments)
@@ -811,13 +2092,13 @@ public class NonBlockingJsonParser
         if (ch == INT_QUOTE) {
             return _startString();
         }
+        // digits checked as range, as switch entries would take much of size limit for inlining
+        if ((ch > INT_0) && (ch <= INT_9)) {
+            return _startPositiveNumber(ch);
+        }
         switch (ch) {
-        case '#':
-            return _finishHashComment(MINOR_VALUE_LEADING_WS);
         case '-':
             return _startNegativeNumber();
-        case '/':
-            return _startSlashComment(MINOR_VALUE_LEADING_WS);
 
         // Should we have separate handling for plus? Although
         // it is not allowed per se, it may be erroneously used,
@@ -825,12 +2106,6 @@ public class NonBlockingJsonParser
         case '0':
             return _startNumberLeadingZero();
 
-        case '1':
-        case '2': case '3':
-        case '4': case '5':
-        case '6': case '7':
-        case '8': case '9':
-            return _startPositiveNumber(ch);
         case 'f':
             return _startFalseToken();
         case 'n':
@@ -843,12 +2118,64 @@ public class NonBlockingJsonParser
             return _startObjectScope();
         default:
         }
-        return _startUnexpectedValue(false, ch);
+        // comments and missing value
+        return _startValueRare(ch, MINOR_VALUE_LEADING_WS, false);
+    }
+
+    /**
+     * Method called by {@link #_startValueExpectComma} and {@link #_startValueExpectColon}
+     * for anything but the expected separator (other than end of scope), kept out of line
+     * so that these stay small enough to inline: comments are handled (to resume in
+     * given state), anything else reported
+     */
+    private final JsonToken _startSeparatorRare(int ch, int minorState) throws IOException
+    {
+        if (ch == INT_SLASH) {
+            return _startSlashComment(minorState);
+        }
+        if (ch == INT_HASH) {
+            return _finishHashComment(minorState);
+        }
+        if (minorState == MINOR_VALUE_EXPECTING_COMMA) {
+            _reportUnexpectedChar(ch, "was expecting comma to separate "+_parsingContext.typeDesc()+" entries");
+        }
+        // can not omit colon here
+        _reportUnexpectedChar(ch, "was expecting a colon to separate field name and value");
+        return null;
+    }
+
+    /**
+     * Method called by {@link #_startValueExpectComma} and {@link #_startValueExpectColon}
+     * for the first character after separator that starts no value, kept out of line
+     * like {@link #_startSeparatorRare}: comments (resuming in given state), end of scope
+     * after trailing comma if allowed, and otherwise missing value.
+     */
+    private final JsonToken _startValueRare(int ch, int minorState, boolean leadingComma) throws IOException
+    {
+        switch (ch) {
+        case '#':
+            return _finishHashComment(minorState);
+        case '/':
+            return _startSlashComment(minorState);
+        case ']':
+            // Was that a trailing comma?
+            if (leadingComma && ((_features & FEAT_MASK_TRAILING_COMMA) != 0)) {
+                return _closeArrayScope();
+            }
+            break;
+        case '}':
+            if (leadingComma && ((_features & FEAT_MASK_TRAILING_COMMA) != 0)) {
+                return _closeObjectScope();
+            }
+            break;
+        default:
+        }
+        return _startUnexpectedValue(leadingComma, ch);
     }
 
     /* Method called when we have already gotten a comma (i.e. not the first value)
      */
-    private final JsonToken _startValueAfterComma(int ch) throws IOException
+    protected JsonToken _startValueAfterComma(int ch) throws IOException
     {
         // First: any leading white space?
         if (ch <= 0x0020) {
@@ -956,16 +2283,18 @@ public class NonBlockingJsonParser
     /**********************************************************************
      */
     
-    private final int _skipWS(int ch) throws IOException
+    protected final int _skipWS(int ch) throws IOException
     {
         do {
             if (ch != INT_SPACE) {
                 if (ch == INT_LF) {
                     ++_currInputRow;
                     _currInputRowStart = _inputPtr;
+                    _skipIndentation();
                 } else if (ch == INT_CR) {
                     ++_currInputRowAlt;
                     _currInputRowStart = _inputPtr;
+                    _skipIndentation();
                 } else if (ch != INT_TAB) {
                     _throwInvalidSpace(ch);
                 }
@@ -974,11 +2303,31 @@ public class NonBlockingJsonParser
                 _currToken = JsonToken.NOT_AVAILABLE;
                 return 0;
             }
-            ch = _inputBuffer.get(_inputPtr++) & 0xFF;
+            ch = _byteAt(_inputPtr++) & 0xFF;
         } while (ch <= 0x0020);
         return ch;
     }
 
+    /**
+     * Skips indentation at start of a line, 8 spaces (or tabs) at a time; remaining
+     * ones are left for byte-by-byte skipping.
+     */
+    private final void _skipIndentation()
+    {
+        final ByteBuffer inputWords = _inputWords;
+        final int end = _inputEnd - 8;
+        int ptr = _inputPtr;
+        if (ptr <= end) {
+            final long indent = inputWords.getLong(ptr);
+            if ((indent == SWAR_SPACES) || (indent == SWAR_TABS)) {
+                do {
+                    ptr += 8;
+                } while ((ptr <= end) && (inputWords.getLong(ptr) == indent));
+                _inputPtr = ptr;
+            }
+        }
+    }
+
     private final JsonToken _startSlashComment(int fromMinorState) throws IOException
     {
         if ((_features & FEAT_MASK_ALLOW_JAVA_COMMENTS) == 0) {
@@ -991,7 +2340,7 @@ public class NonBlockingJsonParser
             _minorState = MINOR_COMMENT_LEADING_SLASH;
             return (_currToken = JsonToken.NOT_AVAILABLE);
         }
-        int ch = _inputBuffer.get(_inputPtr++);
+        int ch = _byteAt(_inputPtr++);
         if (ch == INT_ASTERISK) { // c-style
             return _finishCComment(fromMinorState, false);
         }
@@ -1014,7 +2363,7 @@ public class NonBlockingJsonParser
                 _pending32 = fromMinorState;
                 return (_currToken = JsonToken.NOT_AVAILABLE);
             }
-            int ch = _inputBuffer.get(_inputPtr++) & 0xFF;
+            int ch = _byteAt(_inputPtr++) & 0xFF;
             if (ch < 0x020) {
                 if (ch == INT_LF) {
                     ++_currInputRow;
@@ -1040,7 +2389,7 @@ public class NonBlockingJsonParser
                 _pending32 = fromMinorState;
                 return (_currToken = JsonToken.NOT_AVAILABLE);
             }
-            int ch = _inputBuffer.get(_inputPtr++) & 0xFF;
+            int ch = _byteAt(_inputPtr++) & 0xFF;
             if (ch < 0x020) {
                 if (ch == INT_LF) {
                     ++_currInputRow;
@@ -1066,7 +2415,7 @@ public class NonBlockingJsonParser
                 _pending32 = fromMinorState;
                 return (_currToken = JsonToken.NOT_AVAILABLE);
             }
-            int ch = _inputBuffer.get(_inputPtr++) & 0xFF;
+            int ch = _byteAt(_inputPtr++) & 0xFF;
             if (ch < 0x020) {
                 if (ch == INT_LF) {
                     ++_currInputRow;
@@ -1097,7 +2446,7 @@ public class NonBlockingJsonParser
             _minorState = fromMinorState;
             return (_currToken = JsonToken.NOT_AVAILABLE);
         }
-        int ch = _inputBuffer.get(_inputPtr++) & 0xFF;
+        int ch = _byteAt(_inputPtr++) & 0xFF;
         switch (fromMinorState) {
         case MINOR_FIELD_LEADING_WS:
             return _startFieldName(ch);
@@ -1127,12 +2476,9 @@ public class NonBlockingJsonParser
     {
         int ptr = _inputPtr;
         if ((ptr + 4) < _inputEnd) { // yes, can determine efficiently
-            ByteBuffer buf = _inputBuffer;
-            if ((buf.get(ptr++) == 'a') 
-                   && (buf.get(ptr++) == 'l')
-                   && (buf.get(ptr++) == 's')
-                   && (buf.get(ptr++) == 'e')) {
-                int ch = buf.get(ptr) & 0xFF;
+            if (_inputWords.getInt(ptr) == LITERAL_ALSE) {
+                ptr += 4;
+                int ch = _byteAt(ptr) & 0xFF;
                 if (ch < INT_0 || (ch == INT_RBRACKET) || (ch == INT_RCURLY)) { // expected/allowed chars
                     _inputPtr = ptr;
                     return _valueComplete(JsonToken.VALUE_FALSE);
@@ -1146,12 +2492,11 @@ public class NonBlockingJsonParser
     protected JsonToken _startTrueToken() throws IOException
     {
         int ptr = _inputPtr;
+        // leading 't' was read from current input, so can compare it along with the rest
         if ((ptr + 3) < _inputEnd) { // yes, can determine efficiently
-            ByteBuffer buf = _inputBuffer;
-            if ((buf.get(ptr++) == 'r') 
-                   && (buf.get(ptr++) == 'u')
-                   && (buf.get(ptr++) == 'e')) {
-                int ch = buf.get(ptr) & 0xFF;
+            if (_inputWords.getInt(ptr - 1) == LITERAL_TRUE) {
+                ptr += 3;
+                int ch = _byteAt(ptr) & 0xFF;
                 if (ch < INT_0 || (ch == INT_RBRACKET) || (ch == INT_RCURLY)) { // expected/allowed chars
                     _inputPtr = ptr;
                     return _valueComplete(JsonToken.VALUE_TRUE);
@@ -1165,12 +2510,11 @@ public class NonBlockingJsonParser
     protected JsonToken _startNullToken() throws IOException
     {
         int ptr = _inputPtr;
+        // leading 'n' was read from current input, so can compare it along with the rest
         if ((ptr + 3) < _inputEnd) { // yes, can determine efficiently
-            ByteBuffer buf = _inputBuffer;
-            if ((buf.get(ptr++) == 'u') 
-                   && (buf.get(ptr++) == 'l')
-                   && (buf.get(ptr++) == 'l')) {
-                int ch = buf.get(ptr) & 0xFF;
+            if (_inputWords.getInt(ptr - 1) == LITERAL_NULL) {
+                ptr += 3;
+                int ch = _byteAt(ptr) & 0xFF;
                 if (ch < INT_0 || (ch == INT_RBRACKET) || (ch == INT_RCURLY)) { // expected/allowed chars
                     _inputPtr = ptr;
                     return _valueComplete(JsonToken.VALUE_NULL);
@@ -1191,7 +2535,7 @@ public class NonBlockingJsonParser
                 _pending32 = matched;
                 return (_currToken = JsonToken.NOT_AVAILABLE);
             }
-            int ch = _inputBuffer.get(_inputPtr);
+            int ch = _byteAt(_inputPtr);
             if (matched == end) { // need to verify trailing separator
                 if (ch < INT_0 || (ch == INT_RBRACKET) || (ch == INT_RCURLY)) { // expected/allowed chars
                     return _valueComplete(result);
@@ -1231,7 +2575,7 @@ public class NonBlockingJsonParser
                 _minorState = MINOR_VALUE_TOKEN_NON_STD;
                 return (_currToken = JsonToken.NOT_AVAILABLE);
             }
-            int ch = _inputBuffer.get(_inputPtr);
+            int ch = _byteAt(_inputPtr);
             if (matched == end) { // need to verify trailing separator
                 if (ch < INT_0 || (ch == INT_RBRACKET) || (ch == INT_RCURLY)) { // expected/allowed chars
                     return _valueNonStdNumberComplete(type);
@@ -1262,7 +2606,7 @@ public class NonBlockingJsonParser
     protected JsonToken _finishErrorToken() throws IOException
     {
         while (_inputPtr < _inputEnd) {
-            int i = (int) _inputBuffer.get(_inputPtr++);
+            int i = (int) _byteAt(_inputPtr++);
 
 // !!! TODO: Decode UTF-8 characters properly...
 //            char c = (char) _decodeCharForError(i);
@@ -1300,124 +2644,141 @@ public class NonBlockingJsonParser
     /**********************************************************************
      */
 
-    protected JsonToken _startPositiveNumber(int ch) throws IOException
+    private static long _appendDigit(long mantissa, int ch)
     {
-        _numberNegative = false;
-        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
-        outBuf[0] = (char) ch;
-        // in unlikely event of not having more input, denote location
-        if (_inputPtr >= _inputEnd) {
-            _minorState = MINOR_NUMBER_INTEGER_DIGITS;
-            _textBuffer.setCurrentLength(1);
-            return (_currToken = JsonToken.NOT_AVAILABLE);
+        if ((mantissa >= 0L) && (mantissa < MANTISSA_LIMIT)) {
+            return (mantissa * 10L) + (ch - INT_0);
         }
+        return -1L;
+    }
 
-        int outPtr = 1;
+    /**
+     * Method called when an integral number has been fully scanned: sets its value
+     * from accumulated digits (same types as {@link #_parseNumericValue(int)}
+     * would choose) unless it is too long to fit in a <code>long</code>.
+     */
+    protected final JsonToken _valueCompleteIntegral() throws IOException
+    {
+        final int len = _intLength;
+        if (len <= 18) {
+            final long l = _numberNegative ? -_numberMantissa : _numberMantissa;
+            if ((len <= 9) || ((len == 10) && (l == (int) l))) {
+                _numberInt = (int) l;
+                _numTypesValid = NR_INT;
+            } else {
+                _numberLong = l;
+                _numTypesValid = NR_LONG;
+            }
+        }
+        return _valueComplete(JsonToken.VALUE_NUMBER_INT);
+    }
 
-        ch = _inputBuffer.get(_inputPtr) & 0xFF;
-        while (true) {
-            if (ch < INT_0) {
-                if (ch == INT_PERIOD) {
-                    _intLength = outPtr;
-                    ++_inputPtr;
-                    return _startFloat(outBuf, outPtr, ch);
-                }
-                break;
+    @Override
+    protected void _parseNumericValue(int expType) throws IOException
+    {
+        // Floating-point values are only decoded if and when asked for; most
+        // can be computed exactly from scanned digits without textual decoding
+        if ((_currToken == JsonToken.VALUE_NUMBER_FLOAT) && (expType != NR_BIGDECIMAL)
+                && _decodeDoubleFromMantissa()) {
+            return;
+        }
+        super._parseNumericValue(expType);
+    }
+
+    /**
+     * Fast path for decoding a double from scanned mantissa: when both mantissa
+     * and power of ten are exactly representable, a single multiplication or
+     * division gives correctly rounded result (Clinger's fast path).
+     *
+     * @return True if value could be decoded; false if slow path is needed
+     */
+    private boolean _decodeDoubleFromMantissa()
+    {
+        final long mantissa = _numberMantissa;
+        if ((mantissa < 0L) || (mantissa > MAX_EXACT_DOUBLE_MANTISSA)) {
+            return false;
+        }
+        int exp = 0;
+        final int expLen = _expLength;
+        if (expLen > 0) {
+            if (expLen > 3) {
+                return false;
             }
-            if (ch > INT_9) {
-                if (ch == INT_e || ch == INT_E) {
-                    _intLength = outPtr;
-                    ++_inputPtr;
-                    return _startFloat(outBuf, outPtr, ch);
-                }
-                break;
+            // Exponent is at the end of textual representation, possibly with a sign
+            final char[] buf = _textBuffer.getTextBuffer();
+            final int end = _textBuffer.getTextOffset() + _textBuffer.size();
+            for (int i = end - expLen; i < end; ++i) {
+                exp = (exp * 10) + (buf[i] - '0');
             }
-            if (outPtr >= outBuf.length) {
-                // NOTE: must expand to ensure contents all in a single buffer (to keep
-                // other parts of parsing simpler)
-                outBuf = _textBuffer.expandCurrentSegment();
+            if (buf[end - expLen - 1] == '-') {
+                exp = -exp;
             }
-            outBuf[outPtr++] = (char) ch;
-            if (++_inputPtr >= _inputEnd) {
-                _minorState = MINOR_NUMBER_INTEGER_DIGITS;
-                _textBuffer.setCurrentLength(outPtr);
-                return (_currToken = JsonToken.NOT_AVAILABLE);
+        }
+        exp -= _fractLength;
+        double d;
+        if (mantissa == 0L) {
+            d = 0.0;
+        } else if (exp < 0) {
+            if (exp < -22) {
+                return false;
+            }
+            d = (double) mantissa / EXACT_POWERS_OF_TEN[-exp];
+        } else {
+            if (exp > 22) {
+                return false;
             }
-            ch = _inputBuffer.get(_inputPtr) & 0xFF;
+            d = (double) mantissa * EXACT_POWERS_OF_TEN[exp];
         }
-        _intLength = outPtr;
-        _textBuffer.setCurrentLength(outPtr);
-        return _valueComplete(JsonToken.VALUE_NUMBER_INT);
+        _numberDouble = _numberNegative ? -d : d;
+        _numTypesValid = NR_DOUBLE;
+        return true;
+    }
+
+    protected JsonToken _startPositiveNumber(int ch) throws IOException
+    {
+        _numberNegative = false;
+        _numberMantissa = ch - INT_0;
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        outBuf[0] = (char) ch;
+        return _finishNumberIntegralPart(outBuf, 1);
     }
 
     protected JsonToken _startNegativeNumber() throws IOException
     {
         _numberNegative = true;
+        _numberMantissa = 0L;
         if (_inputPtr >= _inputEnd) {
             _minorState = MINOR_NUMBER_MINUS;
             return (_currToken = JsonToken.NOT_AVAILABLE);
         }
-        int ch = _inputBuffer.get(_inputPtr++) & 0xFF;
-        if (ch <= INT_0) {
-            if (ch == INT_0) {
-                return _finishNumberLeadingNegZeroes();
-            }
-            // One special case: if first char is 0, must not be followed by a digit
-            reportUnexpectedNumberChar(ch, "expected digit (0-9) to follow minus sign, for valid numeric value");
-        } else if (ch > INT_9) {
-            if (ch == 'I') {
-                return _finishNonStdToken(NON_STD_TOKEN_MINUS_INFINITY, 2);
-            }
-            reportUnexpectedNumberChar(ch, "expected digit (0-9) to follow minus sign, for valid numeric value");
+        int ch = _byteAt(_inputPtr++) & 0xFF;
+        if (ch <= INT_0 || ch > INT_9) {
+            return _startNegativeNumberOdd(ch);
         }
         char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
         outBuf[0] = '-';
         outBuf[1] = (char) ch;
-        if (_inputPtr >= _inputEnd) {
-            _minorState = MINOR_NUMBER_INTEGER_DIGITS;
-            _textBuffer.setCurrentLength(2);
-            _intLength = 1;
-            return (_currToken = JsonToken.NOT_AVAILABLE);
-        }
-        ch = _inputBuffer.get(_inputPtr);
-        int outPtr = 2;
+        _numberMantissa = ch - INT_0;
+        return _finishNumberIntegralPart(outBuf, 2);
+    }
 
-        while (true) {
-            if (ch < INT_0) {
-                if (ch == INT_PERIOD) {
-                    _intLength = outPtr-1;
-                    ++_inputPtr;
-                    return _startFloat(outBuf, outPtr, ch);
-                }
-                break;
-            }
-            if (ch > INT_9) {
-                if (ch == INT_e || ch == INT_E) {
-                    _intLength = outPtr-1;
-                    ++_inputPtr;
-                    return _startFloat(outBuf, outPtr, ch);
-                }
-                break;
-            }
-            if (outPtr >= outBuf.length) {
-                // NOTE: must expand, to ensure contiguous buffer, outPtr is the length
-                outBuf = _textBuffer.expandCurrentSegment();
-            }
-            outBuf[outPtr++] = (char) ch;
-            if (++_inputPtr >= _inputEnd) {
-                _minorState = MINOR_NUMBER_INTEGER_DIGITS;
-                _textBuffer.setCurrentLength(outPtr);
-                return (_currToken = JsonToken.NOT_AVAILABLE);
-            }
-            ch = _inputBuffer.get(_inputPtr) & 0xFF;
+    // Kept out of line so that common case of digit after minus sign stays small
+    private final JsonToken _startNegativeNumberOdd(int ch) throws IOException
+    {
+        if (ch == INT_0) {
+            return _finishNumberLeadingNegZeroes();
         }
-        _intLength = outPtr-1;
-        _textBuffer.setCurrentLength(outPtr);
-        return _valueComplete(JsonToken.VALUE_NUMBER_INT);
+        if (ch == 'I') {
+            return _finishNonStdToken(NON_STD_TOKEN_MINUS_INFINITY, 2);
+        }
+        reportUnexpectedNumberChar(ch, "expected digit (0-9) to follow minus sign, for valid numeric value");
+        return null;
     }
 
     protected JsonToken _startNumberLeadingZero() throws IOException
     {
+        _numberNegative = false;
+        _numberMantissa = 0L;
         int ptr = _inputPtr;
         if (ptr >= _inputEnd) {
             _minorState = MINOR_NUMBER_ZERO;
@@ -1428,7 +2789,7 @@ public class NonBlockingJsonParser
         // the very first char after first zero since the most common case is that
         // there is a separator
 
-        int ch = _inputBuffer.get(ptr++) & 0xFF;
+        int ch = _byteAt(ptr++) & 0xFF;
         // one early check: leading zeroes may or may not be allowed
         if (ch < INT_0) {
             if (ch == INT_PERIOD) {
@@ -1478,6 +2839,7 @@ public class NonBlockingJsonParser
         outBuf[0] = '-';
         outBuf[1] = (char) ch;
         _intLength = 1;
+        _numberMantissa = ch - INT_0;
         return _finishNumberIntegralPart(outBuf, 2);
     }
 
@@ -1490,7 +2852,7 @@ public class NonBlockingJsonParser
                 _minorState = MINOR_NUMBER_ZERO;
                 return (_currToken = JsonToken.NOT_AVAILABLE);
             }
-            int ch = _inputBuffer.get(_inputPtr++) & 0xFF;
+            int ch = _byteAt(_inputPtr++) & 0xFF;
             if (ch < INT_0) {
                 if (ch == INT_PERIOD) {
                     char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
@@ -1525,6 +2887,7 @@ public class NonBlockingJsonParser
                 // trim out leading zero
                 outBuf[0] = (char) ch;
                 _intLength = 1;
+                _numberMantissa = ch - INT_0;
                 return _finishNumberIntegralPart(outBuf, 1);
             }
             --_inputPtr;
@@ -1541,7 +2904,7 @@ public class NonBlockingJsonParser
                 _minorState = MINOR_NUMBER_MINUSZERO;
                 return (_currToken = JsonToken.NOT_AVAILABLE);
             }
-            int ch = _inputBuffer.get(_inputPtr++) & 0xFF;
+            int ch = _byteAt(_inputPtr++) & 0xFF;
             if (ch < INT_0) {
                 if (ch == INT_PERIOD) {
                     char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
@@ -1579,6 +2942,7 @@ public class NonBlockingJsonParser
                 outBuf[0] = '-';
                 outBuf[1] = (char) ch;
                 _intLength = 1;
+                _numberMantissa = ch - INT_0;
                 return _finishNumberIntegralPart(outBuf, 2);
             }
             --_inputPtr;
@@ -1589,17 +2953,20 @@ public class NonBlockingJsonParser
     protected JsonToken _finishNumberIntegralPart(char[] outBuf, int outPtr) throws IOException
     {
         int negMod = _numberNegative ? -1 : 0;
+        long mantissa = _numberMantissa;
 
         while (true) {
             if (_inputPtr >= _inputEnd) {
                 _minorState = MINOR_NUMBER_INTEGER_DIGITS;
+                _numberMantissa = mantissa;
                 _textBuffer.setCurrentLength(outPtr);
                 return (_currToken = JsonToken.NOT_AVAILABLE);
             }
-            int ch = _inputBuffer.get(_inputPtr) & 0xFF;
+            int ch = _byteAt(_inputPtr) & 0xFF;
             if (ch < INT_0) {
                 if (ch == INT_PERIOD) {
                     _intLength = outPtr+negMod;
+                    _numberMantissa = mantissa;
                     ++_inputPtr;
                     return _startFloat(outBuf, outPtr, ch);
                 }
@@ -1608,6 +2975,7 @@ public class NonBlockingJsonParser
             if (ch > INT_9) {
                 if (ch == INT_e || ch == INT_E) {
                     _intLength = outPtr+negMod;
+                    _numberMantissa = mantissa;
                     ++_inputPtr;
                     return _startFloat(outBuf, outPtr, ch);
                 }
@@ -1620,10 +2988,12 @@ public class NonBlockingJsonParser
                 outBuf = _textBuffer.expandCurrentSegment();
             }
             outBuf[outPtr++] = (char) ch;
+            mantissa = _appendDigit(mantissa, ch);
         }
         _intLength = outPtr+negMod;
+        _numberMantissa = mantissa;
         _textBuffer.setCurrentLength(outPtr);
-        return _valueComplete(JsonToken.VALUE_NUMBER_INT);
+        return _valueCompleteIntegral();
     }
 
     protected JsonToken _startFloat(char[] outBuf, int outPtr, int ch) throws IOException
@@ -1634,14 +3004,16 @@ public class NonBlockingJsonParser
                 outBuf = _textBuffer.expandCurrentSegment();
             }
             outBuf[outPtr++] = '.';
+            long mantissa = _numberMantissa;
             while (true) {
                 if (_inputPtr >= _inputEnd) {
                     _textBuffer.setCurrentLength(outPtr);
                     _minorState = MINOR_NUMBER_FRACTION_DIGITS;
                     _fractLength = fractLen;
+                    _numberMantissa = mantissa;
                     return (_currToken = JsonToken.NOT_AVAILABLE);
                 }
-                ch = _inputBuffer.get(_inputPtr++); // ok to have sign extension for now
+                ch = _byteAt(_inputPtr++); // ok to have sign extension for now
                 if (ch < INT_0 || ch > INT_9) {
                     ch &= 0xFF; // but here we'll want to mask it to unsigned 8-bit
                     // must be followed by sequence of ints, one minimum
@@ -1654,60 +3026,72 @@ public class NonBlockingJsonParser
                     outBuf = _textBuffer.expandCurrentSegment();
                 }
                 outBuf[outPtr++] = (char) ch;
+                mantissa = _appendDigit(mantissa, ch);
                 ++fractLen;
             }
+            _numberMantissa = mantissa;
         }
         _fractLength = fractLen;
-        int expLen = 0;
         if (ch == INT_e || ch == INT_E) { // exponent?
+            return _startFloatExponent(outBuf, outPtr, ch);
+        }
+        // push back the last char
+        --_inputPtr;
+        _textBuffer.setCurrentLength(outPtr);
+        // negative, int-length, fract-length already set, so...
+        _expLength = 0;
+        return _valueComplete(JsonToken.VALUE_NUMBER_FLOAT);
+    }
+
+    private final JsonToken _startFloatExponent(char[] outBuf, int outPtr, int ch) throws IOException
+    {
+        int expLen = 0;
+        if (outPtr >= outBuf.length) {
+            outBuf = _textBuffer.expandCurrentSegment();
+        }
+        outBuf[outPtr++] = (char) ch;
+        if (_inputPtr >= _inputEnd) {
+            _textBuffer.setCurrentLength(outPtr);
+            _minorState = MINOR_NUMBER_EXPONENT_MARKER;
+            _expLength = 0;
+            return (_currToken = JsonToken.NOT_AVAILABLE);
+        }
+        ch = _byteAt(_inputPtr++); // ok to have sign extension for now
+        if (ch == INT_MINUS || ch == INT_PLUS) {
             if (outPtr >= outBuf.length) {
                 outBuf = _textBuffer.expandCurrentSegment();
             }
             outBuf[outPtr++] = (char) ch;
             if (_inputPtr >= _inputEnd) {
                 _textBuffer.setCurrentLength(outPtr);
-                _minorState = MINOR_NUMBER_EXPONENT_MARKER;
+                _minorState = MINOR_NUMBER_EXPONENT_DIGITS;
                 _expLength = 0;
                 return (_currToken = JsonToken.NOT_AVAILABLE);
             }
-            ch = _inputBuffer.get(_inputPtr++); // ok to have sign extension for now
-            if (ch == INT_MINUS || ch == INT_PLUS) {
-                if (outPtr >= outBuf.length) {
-                    outBuf = _textBuffer.expandCurrentSegment();
-                }
-                outBuf[outPtr++] = (char) ch;
-                if (_inputPtr >= _inputEnd) {
-                    _textBuffer.setCurrentLength(outPtr);
-                    _minorState = MINOR_NUMBER_EXPONENT_DIGITS;
-                    _expLength = 0;
-                    return (_currToken = JsonToken.NOT_AVAILABLE);
-                }
-                ch = _inputBuffer.get(_inputPtr++);
-            }
-            while (ch >= INT_0 && ch <= INT_9) {
-                ++expLen;
-                if (outPtr >= outBuf.length) {
-                    outBuf = _textBuffer.expandCurrentSegment();
-                }
-                outBuf[outPtr++] = (char) ch;
-                if (_inputPtr >= _inputEnd) {
-                    _textBuffer.setCurrentLength(outPtr);
-                    _minorState = MINOR_NUMBER_EXPONENT_DIGITS;
-                    _expLength = expLen;
-                    return (_currToken = JsonToken.NOT_AVAILABLE);
-                }
-                ch = _inputBuffer.get(_inputPtr++);
+            ch = _byteAt(_inputPtr++);
+        }
+        while (ch >= INT_0 && ch <= INT_9) {
+            ++expLen;
+            if (outPtr >= outBuf.length) {
+                outBuf = _textBuffer.expandCurrentSegment();
             }
-            // must be followed by sequence of ints, one minimum
-            ch &= 0xFF;
-            if (expLen == 0) {
-                reportUnexpectedNumberChar(ch, "Exponent indicator not followed by a digit");
+            outBuf[outPtr++] = (char) ch;
+            if (_inputPtr >= _inputEnd) {
+                _textBuffer.setCurrentLength(outPtr);
+                _minorState = MINOR_NUMBER_EXPONENT_DIGITS;
+                _expLength = expLen;
+                return (_currToken = JsonToken.NOT_AVAILABLE);
             }
+            ch = _byteAt(_inputPtr++);
+        }
+        // must be followed by sequence of ints, one minimum
+        ch &= 0xFF;
+        if (expLen == 0) {
+            reportUnexpectedNumberChar(ch, "Exponent indicator not followed by a digit");
         }
         // push back the last char
         --_inputPtr;
         _textBuffer.setCurrentLength(outPtr);
-        // negative, int-length, fract-length already set, so...
         _expLength = expLen;
         return _valueComplete(JsonToken.VALUE_NUMBER_FLOAT);
     }
@@ -1720,18 +3104,22 @@ public class NonBlockingJsonParser
 
         // caller guarantees at least one char; also, sign-extension not needed here
         int ch;
-        while (((ch = _inputBuffer.get(_inputPtr++)) >= INT_0) && (ch <= INT_9)) {
+        long mantissa = _numberMantissa;
+        while (((ch = _byteAt(_inputPtr++)) >= INT_0) && (ch <= INT_9)) {
             ++fractLen;
             if (outPtr >= outBuf.length) {
                 outBuf = _textBuffer.expandCurrentSegment();
             }
             outBuf[outPtr++] = (char) ch;
+            mantissa = _appendDigit(mantissa, ch);
             if (_inputPtr >= _inputEnd) {
                 _textBuffer.setCurrentLength(outPtr);
                 _fractLength = fractLen;
+                _numberMantissa = mantissa;
                 return JsonToken.NOT_AVAILABLE;
             }
         }
+        _numberMantissa = mantissa;
         
         // Ok, fraction done; what have we got next?
         // must be followed by sequence of ints, one minimum
@@ -1750,7 +3138,7 @@ public class NonBlockingJsonParser
                 return JsonToken.NOT_AVAILABLE;
             }
             _minorState = MINOR_NUMBER_EXPONENT_DIGITS;
-            return _finishFloatExponent(true, _inputBuffer.get(_inputPtr++) & 0xFF);
+            return _finishFloatExponent(true, _byteAt(_inputPtr++) & 0xFF);
         }
 
         // push back the last char
@@ -1772,7 +3160,7 @@ public class NonBlockingJsonParser
                     _expLength = 0;
                     return JsonToken.NOT_AVAILABLE;
                 }
-                ch = _inputBuffer.get(_inputPtr++);
+                ch = _byteAt(_inputPtr++);
             }
         }
 
@@ -1791,7 +3179,7 @@ public class NonBlockingJsonParser
                 _expLength = expLen;
                 return JsonToken.NOT_AVAILABLE;
             }
-            ch = _inputBuffer.get(_inputPtr++);
+            ch = _byteAt(_inputPtr++);
         }
         // must be followed by sequence of ints, one minimum
         ch &= 0xFF;
@@ -1814,146 +3202,373 @@ public class NonBlockingJsonParser
 
     private final String _fastParseName() throws IOException
     {
-        // If so, can also unroll loops nicely
-        // This may seem weird, but here we do NOT want to worry about UTF-8
-        // decoding. Rather, we'll assume that part is ok (if not it will be
-        // caught later on), and just handle quotes and backslashes here.
-
-        final ByteBuffer input = _inputBuffer;
-        final int[] codes = _icLatin1;
-        int ptr = _inputPtr;
-
-        int q0 = input.get(ptr++) & 0xFF;
-        if (codes[q0] == 0) {
-            int i = input.get(ptr++) & 0xFF;
-            if (codes[i] == 0) {
-                int q = (q0 << 8) | i;
-                i = input.get(ptr++) & 0xFF;
-                if (codes[i] == 0) {
-                    q = (q << 8) | i;
-                    i = input.get(ptr++) & 0xFF;
-                    if (codes[i] == 0) {
-                        q = (q << 8) | i;
-                        i = input.get(ptr++) & 0xFF;
-                        if (codes[i] == 0) {
-                            _quad1 = q;
-                            return _parseMediumName(ptr, i);
-                        }
-                        if (i == INT_QUOTE) { // 4 byte/char case or broken
-                            _inputPtr = ptr;
-                            return _findName(q, 4);
-                        }
-                        return null;
-                    }
-                    if (i == INT_QUOTE) { // 3 byte/char case or broken
-                        _inputPtr = ptr;
-                        return _findName(q, 3);
-                    }
-                    return null;
-                }
-                if (i == INT_QUOTE) { // 2 byte/char case or broken
-                    _inputPtr = ptr;
-                    return _findName(q, 2);
-                }
+        // Caller ensures there are at least 13 bytes: up to 12 name bytes, plus
+        // closing quote. Name bytes are checked for quotes, backslashes and control
+        // characters, and assembled into quads, a word at a time. Like with the
+        // byte-by-byte decoding, we do NOT want to worry about UTF-8 decoding here:
+        // that's caught later on, if need be.
+
+        final ByteBuffer inputWords = _inputWords;
+        final int ptr = _inputPtr;
+        final long word = inputWords.getLong(ptr);
+        final long special = _nameSpecialBytes(word);
+        // note: reversed since words are little-endian, quads big-endian
+        final long bytes = Long.reverseBytes(word);
+
+        if (special != 0L) { // up to 8 bytes (or broken)
+            final int len = Long.numberOfTrailingZeros(special) >>> 3;
+            if (_byteAt(ptr + len) != INT_QUOTE) {
                 return null;
             }
-            if (i == INT_QUOTE) { // one byte/char case or broken
-                _inputPtr = ptr;
-                return _findName(q0, 1);
+            _inputPtr = ptr + len + 1;
+            if (len == 0) {
+                return "";
+            }
+            if (len <= 4) {
+                return _lookupName((int) (bytes >>> (64 - (len << 3))), len);
             }
+            return _lookupName((int) (bytes >>> 32), (int) ((bytes << 32) >>> (96 - (len << 3))), len - 4);
+        }
+        final int q1 = (int) (bytes >>> 32);
+        final int q2 = (int) bytes;
+        final int word2 = inputWords.getInt(ptr + 8);
+        final int special2 = _nameSpecialBytes(word2);
+        if (special2 != 0) { // 8 to 11 bytes (or broken)
+            final int len2 = Integer.numberOfTrailingZeros(special2) >>> 3;
+            if (_byteAt(ptr + 8 + len2) != INT_QUOTE) {
+                return null;
+            }
+            _inputPtr = ptr + 9 + len2;
+            if (len2 == 0) {
+                return _lookupName(q1, q2, 4);
+            }
+            return _lookupName(q1, q2, Integer.reverseBytes(word2) >>> (32 - (len2 << 3)), len2);
+        }
+        if (_byteAt(ptr + 12) != INT_QUOTE) { // longer (or broken)
             return null;
         }
-        if (q0 == INT_QUOTE) {
-            _inputPtr = ptr;
-            return "";
+        _inputPtr = ptr + 13;
+        return _lookupName(q1, q2, Integer.reverseBytes(word2), 4);
+    }
+
+    /*
+    /**********************************************************************
+    /* Name-decoding, symbol table access
+    /**********************************************************************
+     */
+
+    // Like '_findName()' of base class, but leaving misses to '_newName()'
+
+    private final String _lookupName(int q1, int lastQuadBytes) throws JsonParseException
+    {
+        q1 = _padLastQuad(q1, lastQuadBytes);
+        String name = _symbols.findName(q1);
+        if (name != null) {
+            _nameFound();
+            return name;
         }
-        return null;
+        _quadBuffer[0] = q1;
+        return _newName(_quadBuffer, 1, lastQuadBytes);
     }
 
-    private final String _parseMediumName(int ptr, int q2) throws IOException
+    private final String _lookupName(int q1, int q2, int lastQuadBytes) throws JsonParseException
     {
-        final ByteBuffer input = _inputBuffer;
-        final int[] codes = _icLatin1;
+        q2 = _padLastQuad(q2, lastQuadBytes);
+        String name = _symbols.findName(q1, q2);
+        if (name != null) {
+            _nameFound();
+            return name;
+        }
+        _quadBuffer[0] = q1;
+        _quadBuffer[1] = q2;
+        return _newName(_quadBuffer, 2, lastQuadBytes);
+    }
 
-        // Ok, got 5 name bytes so far
-        int i = input.get(ptr++) & 0xFF;
-        if (codes[i] == 0) {
-            q2 = (q2 << 8) | i;
-            i = input.get(ptr++) & 0xFF;
-            if (codes[i] == 0) {
-                q2 = (q2 << 8) | i;
-                i = input.get(ptr++) & 0xFF;
-                if (codes[i] == 0) {
-                    q2 = (q2 << 8) | i;
-                    i = input.get(ptr++) & 0xFF;
-                    if (codes[i] == 0) {
-                        return _parseMediumName2(ptr, i, q2);
-                    }
-                    if (i == INT_QUOTE) { // 8 bytes
-                        _inputPtr = ptr;
-                        return _findName(_quad1, q2, 4);
-                    }
+    private final String _lookupName(int q1, int q2, int q3, int lastQuadBytes) throws JsonParseException
+    {
+        q3 = _padLastQuad(q3, lastQuadBytes);
+        String name = _symbols.findName(q1, q2, q3);
+        if (name != null) {
+            _nameFound();
+            return name;
+        }
+        int[] quads = _quadBuffer;
+        quads[0] = q1;
+        quads[1] = q2;
+        quads[2] = q3;
+        return _newName(quads, 3, lastQuadBytes);
+    }
+
+    private final String _lookupName(int[] quads, int qlen, int lastQuadBytes) throws JsonParseException
+    {
+        String name = _symbols.findName(quads, qlen);
+        if (name != null) {
+            _nameFound();
+            return name;
+        }
+        return _newName(quads, qlen, lastQuadBytes);
+    }
+
+    /*
+    /**********************************************************************
+    /* Name-decoding, field order prediction
+    /**********************************************************************
+     */
+
+    /**
+     * Names of fields seen in an Object, by position, as both decoded Strings and
+     * raw bytes (between quotes, escapes included)
+     */
+    private final static class ObjectShape
+    {
+        String[] names = new String[8];
+        byte[][] nameBytes = new byte[8][];
+
+        /**
+         * Position of the current field in current Object
+         */
+        int ordinal;
+
+        /**
+         * Number of mispredicted names since last correct prediction
+         */
+        int misses;
+    }
+
+    private final ObjectShape _objectShape()
+    {
+        final JsonReadContext ctxt = _parsingContext;
+        if (ctxt == _shapeContext) {
+            return _shape;
+        }
+        int level = 0;
+        for (JsonReadContext parent = ctxt.getParent();
+                (parent != null) && (level < (NAME_LEVELS - 1)); parent = parent.getParent()) {
+            ++level;
+        }
+        ObjectShape[] shapes = _shapes;
+        if (shapes == null) {
+            _shapes = shapes = new ObjectShape[NAME_LEVELS];
+        }
+        ObjectShape shape = shapes[level];
+        if (shape == null) {
+            shapes[level] = shape = new ObjectShape();
+        }
+        _shapeContext = ctxt;
+        _shape = shape;
+        return shape;
+    }
+
+    /**
+     * Moves ordinal of the shape of current Object to the field being started;
+     * needs to be called for every field name, however it gets matched.
+     *
+     * @param firstField Whether this is the first field of the Object
+     */
+    private final ObjectShape _nextObjectShapeField(boolean firstField)
+    {
+        final ObjectShape shape = _objectShape();
+        if (firstField) {
+            shape.ordinal = 0;
+        } else {
+            ++shape.ordinal;
+        }
+        return shape;
+    }
+
+    /**
+     * @return Predicted name, if raw bytes of the current one (and closing quote)
+     *    match it; <code>null</code> otherwise
+     */
+    private final String _predictedName(ObjectShape shape) throws IOException
+    {
+        final int ordinal = shape.ordinal;
+        if ((ordinal >= shape.names.length) || (shape.misses >= SHAPE_MISS_LIMIT)) {
+            return null;
+        }
+        final byte[] bytes = shape.nameBytes[ordinal];
+        if (bytes == null) {
+            return null;
+        }
+        final int ptr = _inputPtr;
+        final int len = bytes.length;
+        if ((ptr + len) >= _inputEnd) {
+            return null;
+        }
+        final byte[] array = _inputArray;
+        if (array != null) {
+            for (int i = 0; i < len; ++i) {
+                if (array[ptr + i] != bytes[i]) {
                     return null;
                 }
-                if (i == INT_QUOTE) { // 7 bytes
-                    _inputPtr = ptr;
-                    return _findName(_quad1, q2, 3);
-                }
-                return null;
             }
-            if (i == INT_QUOTE) { // 6 bytes
-                _inputPtr = ptr;
-                return _findName(_quad1, q2, 2);
+        } else {
+            for (int i = 0; i < len; ++i) {
+                if (_inputBuffer.get(ptr + i) != bytes[i]) {
+                    return null;
+                }
             }
+        }
+        if (_byteAt(ptr + len) != INT_QUOTE) {
             return null;
         }
-        if (i == INT_QUOTE) { // 5 bytes
-            _inputPtr = ptr;
-            return _findName(_quad1, q2, 1);
+        _inputPtr = ptr + len + 1;
+        shape.misses = 0;
+        ++_namesPredicted;
+        _nameFound();
+        return shape.names[ordinal];
+    }
+
+    /**
+     * Remembers name just decoded, starting at given pointer of current chunk and
+     * ending just before closing quote, as prediction for next Object
+     */
+    private final void _predictName(ObjectShape shape, int start)
+    {
+        final int ordinal = shape.ordinal;
+        if (ordinal >= shape.names.length) {
+            if (ordinal >= SHAPE_MAX_FIELDS) {
+                return;
+            }
+            final int newLength = Math.min(SHAPE_MAX_FIELDS, shape.names.length << 1);
+            shape.names = Arrays.copyOf(shape.names, newLength);
+            shape.nameBytes = Arrays.copyOf(shape.nameBytes, newLength);
         }
-        return null;
+        if (shape.nameBytes[ordinal] != null) {
+            ++shape.misses;
+        }
+        final byte[] bytes = new byte[_inputPtr - 1 - start];
+        if (_inputArray != null) {
+            System.arraycopy(_inputArray, start, bytes, 0, bytes.length);
+        } else {
+            for (int i = 0; i < bytes.length; ++i) {
+                bytes[i] = _inputBuffer.get(start + i);
+            }
+        }
+        shape.names[ordinal] = _parsingContext.getCurrentName();
+        shape.nameBytes[ordinal] = bytes;
     }
 
-    private final String _parseMediumName2(int ptr, int q3, final int q2) throws IOException
+    private final void _nameFound()
     {
-        final ByteBuffer input = _inputBuffer;
-        final int[] codes = _icLatin1;
+        if (++_namesInWindow >= NAME_WINDOW) {
+            _slideNameWindow();
+        }
+    }
 
-        // Got 9 name bytes so far
-        int i = input.get(ptr++) & 0xFF;
-        if (codes[i] != 0) {
-            if (i == INT_QUOTE) { // 9 bytes
-                _inputPtr = ptr;
-                return _findName(_quad1, q2, q3, 1);
+    private void _slideNameWindow()
+    {
+        _namesInWindow = 0;
+        final int[] misses = _nameMisses;
+        if (misses != null) {
+            for (int i = 0; i < misses.length; ++i) {
+                misses[i] >>= 1;
             }
-            return null;
         }
-        q3 = (q3 << 8) | i;
-        i = input.get(ptr++) & 0xFF;
-        if (codes[i] != 0) {
-            if (i == INT_QUOTE) { // 10 bytes
-                _inputPtr = ptr;
-                return _findName(_quad1, q2, q3, 2);
-            }
-            return null;
+    }
+
+    /**
+     * Method called for a name not found in symbol table: adds it, unless current
+     * nesting level has recently been seeing mostly new names, in which case name
+     * is just decoded into a String.
+     */
+    private final String _newName(int[] quads, int qlen, int lastQuadBytes) throws JsonParseException
+    {
+        _nameFound();
+        int[] misses = _nameMisses;
+        if (misses == null) {
+            _nameMisses = misses = new int[NAME_LEVELS];
         }
-        q3 = (q3 << 8) | i;
-        i = input.get(ptr++) & 0xFF;
-        if (codes[i] != 0) {
-            if (i == INT_QUOTE) { // 11 bytes
-                _inputPtr = ptr;
-                return _findName(_quad1, q2, q3, 3);
+        int level = 0;
+        JsonReadContext ctxt = _parsingContext.getParent();
+        while ((ctxt != null) && (level < (NAME_LEVELS - 1))) {
+            ++level;
+            ctxt = ctxt.getParent();
+        }
+        if (++misses[level] > NAME_LEVEL_MISS_LIMIT) {
+            _floodedLevels |= (1 << level);
+            return _decodeName(quads, qlen, lastQuadBytes);
+        }
+        final String name = _addName(quads, qlen, lastQuadBytes);
+        if (_symbolsStripe != null) {
+            final int count = _addedNameCount;
+            if (_addedNames == null) {
+                _addedNames = new String[32];
+                _addedNameLevels = new byte[32];
+            } else if (count == _addedNames.length) {
+                _addedNames = Arrays.copyOf(_addedNames, count << 1);
+                _addedNameLevels = Arrays.copyOf(_addedNameLevels, count << 1);
+            }
+            _addedNames[count] = name;
+            _addedNameLevels[count] = (byte) level;
+            _addedNameCount = count + 1;
+        }
+        return name;
+    }
+
+    /**
+     * Decodes UTF-8 name bytes packed in quads into a String, same as
+     * base class {@link #_addName} but without adding it to symbol table.
+     */
+    private final String _decodeName(int[] quads, int qlen, int lastQuadBytes) throws JsonParseException
+    {
+        final int byteLen = (qlen << 2) - 4 + lastQuadBytes;
+        char[] cbuf = _textBuffer.emptyAndGetCurrentSegment();
+        int cix = 0;
+
+        for (int ix = 0; ix < byteLen; ) {
+            int ch = _nameByte(quads, qlen, lastQuadBytes, ix++);
+            if (ch > 127) { // multi-byte
+                int needed;
+                if ((ch & 0xE0) == 0xC0) { // 2 bytes (0x0080 - 0x07FF)
+                    ch &= 0x1F;
+                    needed = 1;
+                } else if ((ch & 0xF0) == 0xE0) { // 3 bytes (0x0800 - 0xFFFF)
+                    ch &= 0x0F;
+                    needed = 2;
+                } else if ((ch & 0xF8) == 0xF0) { // 4 bytes; double-char with surrogates and all...
+                    ch &= 0x07;
+                    needed = 3;
+                } else { // 5- and 6-byte chars not valid json chars
+                    _reportInvalidInitial(ch);
+                    needed = ch = 1; // never really gets this far
+                }
+                if ((ix + needed) > byteLen) {
+                    _reportInvalidEOF(" in field name", JsonToken.FIELD_NAME);
+                }
+                for (int i = 0; i < needed; ++i) {
+                    int ch2 = _nameByte(quads, qlen, lastQuadBytes, ix++);
+                    if ((ch2 & 0xC0) != 0x080) {
+                        _reportInvalidOther(ch2);
+                    }
+                    ch = (ch << 6) | (ch2 & 0x3F);
+                }
+                if (needed > 2) { // surrogate pair? once again, let's output one here, one later on
+                    ch -= 0x10000; // to normalize it starting with 0x0
+                    if (cix >= cbuf.length) {
+                        cbuf = _textBuffer.expandCurrentSegment();
+                    }
+                    cbuf[cix++] = (char) (0xD800 + (ch >> 10));
+                    ch = 0xDC00 | (ch & 0x03FF);
+                }
             }
-            return null;
+            if (cix >= cbuf.length) {
+                cbuf = _textBuffer.expandCurrentSegment();
+            }
+            cbuf[cix++] = (char) ch;
         }
-        q3 = (q3 << 8) | i;
-        i = input.get(ptr++) & 0xFF;
-        if (i == INT_QUOTE) { // 12 bytes
-            _inputPtr = ptr;
-            return _findName(_quad1, q2, q3, 4);
+        return new String(cbuf, 0, cix);
+    }
+
+    private static int _nameByte(int[] quads, int qlen, int lastQuadBytes, int ix)
+    {
+        final int quadIx = ix >> 2;
+        int q = quads[quadIx];
+        if ((quadIx == (qlen - 1)) && (lastQuadBytes < 4)) {
+            // last quad has its bytes at the low end (padding, if any, above them)
+            q <<= ((4 - lastQuadBytes) << 3);
         }
-        // Could continue
-        return null;
+        return (q >> ((3 - (ix & 3)) << 3)) & 0xFF;
     }
 
     /**
@@ -1973,6 +3588,22 @@ public class NonBlockingJsonParser
         final int[] codes = _icLatin1;
 
         while (true) {
+            // At quad boundary, can take next 4 bytes as quad if none needs attention
+            if (((currQuadBytes & 3) == 0) && ((_inputPtr + 4) <= _inputEnd)) {
+                final int word = _inputWords.getInt(_inputPtr);
+                if (_nameSpecialBytes(word) == 0) {
+                    if (currQuadBytes == 4) {
+                        if (qlen >= quads.length) {
+                            _quadBuffer = quads = growArrayBy(quads, quads.length);
+                        }
+                        quads[qlen++] = currQuad;
+                    }
+                    currQuad = Integer.reverseBytes(word);
+                    currQuadBytes = 4;
+                    _inputPtr += 4;
+                    continue;
+                }
+            }
             if (_inputPtr >= _inputEnd) {
                 _quadLength = qlen;
                 _pending32 = currQuad;
@@ -1980,7 +3611,7 @@ public class NonBlockingJsonParser
                 _minorState = MINOR_FIELD_NAME;
                 return (_currToken = JsonToken.NOT_AVAILABLE);
             }
-            int ch = _inputBuffer.get(_inputPtr++) & 0xFF;
+            int ch = _byteAt(_inputPtr++) & 0xFF;
             if (codes[ch] == 0) {
                 if (currQuadBytes < 4) {
                     ++currQuadBytes;
@@ -2000,78 +3631,102 @@ public class NonBlockingJsonParser
             if (ch == INT_QUOTE) { // we are done
                 break;
             }
-            // Unquoted white space?
-            if (ch != INT_BACKSLASH) {
-                // Call can actually now return (if unquoted linefeeds allowed)
-                _throwUnquotedSpace(ch, "name");
-            } else {
-                // Nope, escape sequence
-                ch = _decodeCharEscape();
-                if (ch < 0) { // method has set up state about escape sequence
-                    _minorState = MINOR_FIELD_NAME_ESCAPE;
-                    _minorStateAfterSplit = MINOR_FIELD_NAME;
-                    _quadLength = qlen;
-                    _pending32 = currQuad;
-                    _pendingBytes = currQuadBytes;
-                    return (_currToken = JsonToken.NOT_AVAILABLE);
-                }
+            _quadLength = qlen;
+            _pending32 = currQuad;
+            _pendingBytes = currQuadBytes;
+            if (!_decodeNameSpecial(ch)) {
+                return (_currToken = JsonToken.NOT_AVAILABLE);
             }
+            quads = _quadBuffer;
+            qlen = _quadLength;
+            currQuad = _pending32;
+            currQuadBytes = _pendingBytes;
+        }
 
-            // May need to UTF-8 (re-)encode it, if it's beyond
-            // 7-bit ASCII. Gets pretty messy. If this happens often, may
-            // want to use different name canonicalization to avoid these hits.
+        if (currQuadBytes > 0) {
             if (qlen >= quads.length) {
                 _quadBuffer = quads = growArrayBy(quads, quads.length);
             }
-            if (ch > 127) {
-                // Ok, we'll need room for first byte right away
+            quads[qlen++] = _padLastQuad(currQuad, currQuadBytes);
+        } else if (qlen == 0) { // rare, but may happen
+            return _fieldComplete("");
+        }
+        return _fieldComplete(_lookupName(quads, qlen, currQuadBytes));
+    }
+
+    /**
+     * Method called by {@link #_parseEscapedName} for escape sequences and unquoted
+     * control characters; appends decoded character (UTF-8 encoded) to name quads,
+     * state of which is passed in and out in {@link #_quadLength}, {@link #_pending32}
+     * and {@link #_pendingBytes}.
+     *
+     * @return True if character was appended; false if escape sequence is split and
+     *   more input is needed (in which case split state is set up)
+     */
+    private final boolean _decodeNameSpecial(int ch) throws IOException
+    {
+        // Unquoted white space?
+        if (ch != INT_BACKSLASH) {
+            // Call can actually now return (if unquoted linefeeds allowed)
+            _throwUnquotedSpace(ch, "name");
+        } else {
+            // Nope, escape sequence
+            ch = _decodeCharEscape();
+            if (ch < 0) { // method has set up state about escape sequence
+                _minorState = MINOR_FIELD_NAME_ESCAPE;
+                _minorStateAfterSplit = MINOR_FIELD_NAME;
+                return false;
+            }
+        }
+        int[] quads = _quadBuffer;
+        int qlen = _quadLength;
+        int currQuad = _pending32;
+        int currQuadBytes = _pendingBytes;
+
+        // May need to UTF-8 (re-)encode it, if it's beyond
+        // 7-bit ASCII. Gets pretty messy. If this happens often, may
+        // want to use different name canonicalization to avoid these hits.
+        if (qlen >= quads.length) {
+            _quadBuffer = quads = growArrayBy(quads, quads.length);
+        }
+        if (ch > 127) {
+            // Ok, we'll need room for first byte right away
+            if (currQuadBytes >= 4) {
+                quads[qlen++] = currQuad;
+                currQuad = 0;
+                currQuadBytes = 0;
+            }
+            if (ch < 0x800) { // 2-byte
+                currQuad = (currQuad << 8) | (0xc0 | (ch >> 6));
+                ++currQuadBytes;
+                // Second byte gets output below:
+            } else { // 3 bytes; no need to worry about surrogates here
+                currQuad = (currQuad << 8) | (0xe0 | (ch >> 12));
+                ++currQuadBytes;
+                // need room for middle byte?
                 if (currQuadBytes >= 4) {
                     quads[qlen++] = currQuad;
                     currQuad = 0;
                     currQuadBytes = 0;
                 }
-                if (ch < 0x800) { // 2-byte
-                    currQuad = (currQuad << 8) | (0xc0 | (ch >> 6));
-                    ++currQuadBytes;
-                    // Second byte gets output below:
-                } else { // 3 bytes; no need to worry about surrogates here
-                    currQuad = (currQuad << 8) | (0xe0 | (ch >> 12));
-                    ++currQuadBytes;
-                    // need room for middle byte?
-                    if (currQuadBytes >= 4) {
-                        quads[qlen++] = currQuad;
-                        currQuad = 0;
-                        currQuadBytes = 0;
-                    }
-                    currQuad = (currQuad << 8) | (0x80 | ((ch >> 6) & 0x3f));
-                    ++currQuadBytes;
-                }
-                // And same last byte in both cases, gets output below:
-                ch = 0x80 | (ch & 0x3f);
-            }
-            if (currQuadBytes < 4) {
+                currQuad = (currQuad << 8) | (0x80 | ((ch >> 6) & 0x3f));
                 ++currQuadBytes;
-                currQuad = (currQuad << 8) | ch;
-                continue;
             }
+            // And same last byte in both cases, gets output below:
+            ch = 0x80 | (ch & 0x3f);
+        }
+        if (currQuadBytes < 4) {
+            ++currQuadBytes;
+            currQuad = (currQuad << 8) | ch;
+        } else {
             quads[qlen++] = currQuad;
             currQuad = ch;
             currQuadBytes = 1;
         }
-
-        if (currQuadBytes > 0) {
-            if (qlen >= quads.length) {
-                _quadBuffer = quads = growArrayBy(quads, quads.length);
-            }
-            quads[qlen++] = _padLastQuad(currQuad, currQuadBytes);
-        } else if (qlen == 0) { // rare, but may happen
-            return _fieldComplete("");
-        }
-        String name = _symbols.findName(quads, qlen);
-        if (name == null) {
-            name = _addName(quads, qlen, currQuadBytes);
-        }
-        return _fieldComplete(name);
+        _quadLength = qlen;
+        _pending32 = currQuad;
+        _pendingBytes = currQuadBytes;
+        return true;
     }
 
     /**
@@ -2140,7 +3795,7 @@ public class NonBlockingJsonParser
                 _minorState = MINOR_FIELD_UNQUOTED_NAME;
                 return (_currToken = JsonToken.NOT_AVAILABLE);
             }
-            int ch = _inputBuffer.get(_inputPtr) & 0xFF;
+            int ch = _byteAt(_inputPtr) & 0xFF;
             if (codes[ch] != 0) {
                 break;
             }
@@ -2165,11 +3820,7 @@ public class NonBlockingJsonParser
             }
             quads[qlen++] = currQuad;
         }
-        String name = _symbols.findName(quads, qlen);
-        if (name == null) {
-            name = _addName(quads, qlen, currQuadBytes);
-        }
-        return _fieldComplete(name);
+        return _fieldComplete(_lookupName(quads, qlen, currQuadBytes));
     }
 
     private JsonToken _finishAposName(int qlen, int currQuad, int currQuadBytes)
@@ -2186,7 +3837,7 @@ public class NonBlockingJsonParser
                 _minorState = MINOR_FIELD_APOS_NAME;
                 return (_currToken = JsonToken.NOT_AVAILABLE);
             }
-            int ch = _inputBuffer.get(_inputPtr++) & 0xFF;
+            int ch = _byteAt(_inputPtr++) & 0xFF;
             if (ch == INT_APOS) {
                 break;
             }
@@ -2262,11 +3913,7 @@ public class NonBlockingJsonParser
         } else if (qlen == 0) { // rare case but possible
             return _fieldComplete("");
         }
-        String name = _symbols.findName(quads, qlen);
-        if (name == null) {
-            name = _addName(quads, qlen, currQuadBytes);
-        }
-        return _fieldComplete(name);
+        return _fieldComplete(_lookupName(quads, qlen, currQuadBytes));
     }
 
     protected final JsonToken _finishFieldWithEscape() throws IOException
@@ -2328,7 +3975,7 @@ public class NonBlockingJsonParser
             _quotedDigits = bytesRead;
             return -1;
         }
-        int c = _inputBuffer.get(_inputPtr++);
+        int c = _byteAt(_inputPtr++);
         if (bytesRead == -1) { // expecting first char after backslash
             switch (c) {
                 // First, ones that are mapped
@@ -2365,7 +4012,7 @@ public class NonBlockingJsonParser
                 _quoted32 = 0;
                 return -1;
             }
-            c = _inputBuffer.get(_inputPtr++);
+            c = _byteAt(_inputPtr++);
             bytesRead = 0;
         }
         c &= 0xFF;
@@ -2383,7 +4030,7 @@ public class NonBlockingJsonParser
                 _quoted32 = value;
                 return -1;
             }
-            c = _inputBuffer.get(_inputPtr++) & 0xFF;
+            c = _byteAt(_inputPtr++) & 0xFF;
         }
     }
 
@@ -2395,47 +4042,77 @@ public class NonBlockingJsonParser
 
     protected JsonToken _startString() throws IOException
     {
-        int ptr = _inputPtr;
-        int outPtr = 0;
-        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
-        final int[] codes = _icUTF8;
+        final int start = _inputPtr;
+        final int ptr = _scanAsciiString(start);
+        if ((ptr < _inputEnd) && (_byteAt(ptr) == INT_QUOTE)) {
+            // no decoding needed: defer copying until asked for
+            _setRawText(start, ptr, true);
+            _rawTextPending = true;
+            _inputPtr = ptr+1;
+            return _valueComplete(JsonToken.VALUE_STRING);
+        }
+        // ASCII run copied as is, rest decoded (just once, also recording raw bytes
+        // if value has no escapes and ends within this chunk)
+        _copyRawText(start, ptr);
+        _inputPtr = ptr;
+        return _finishRegularString(start);
+    }
 
-        final int max = Math.min(_inputEnd, (ptr + outBuf.length));
-        final ByteBuffer inputBuffer = _inputBuffer;
-        while (ptr < max) {
-            int c = (int) inputBuffer.get(ptr) & 0xFF;
-            if (codes[c] != 0) {
-                if (c == INT_QUOTE) {
-                    _inputPtr = ptr+1;
-                    _textBuffer.setCurrentLength(outPtr);
-                    return _valueComplete(JsonToken.VALUE_STRING);
-                }
+    /**
+     * Looks for the end of the plain ASCII run of String value starting at given
+     * pointer, which is all of the value in the common case.
+     *
+     * @return Pointer to first byte that is not plain ASCII (closing quote, backslash,
+     *    control character or byte with high bit set), or end of input
+     */
+    private final int _scanAsciiString(int ptr)
+    {
+        final ByteBuffer inputWords = _inputWords;
+        final int end = _inputEnd;
+        while ((ptr + 8) <= end) {
+            final long special = _stringSpecialBytes(inputWords.getLong(ptr));
+            if (special != 0L) {
+                return ptr + (Long.numberOfTrailingZeros(special) >>> 3);
+            }
+            ptr += 8;
+        }
+        for (; ptr < end; ++ptr) {
+            final int ch = _byteAt(ptr);
+            if ((ch == INT_QUOTE) || (ch == INT_BACKSLASH) || (ch < INT_SPACE)) {
                 break;
             }
-            ++ptr;
-            outBuf[outPtr++] = (char) c;
         }
-        _textBuffer.setCurrentLength(outPtr);
-        _inputPtr = ptr;
-        return _finishRegularString();
+        return ptr;
     }
 
-    private final JsonToken _finishRegularString() throws IOException
+    private final void _setRawText(int start, int end, boolean ascii)
     {
+        _rawTextStart = start;
+        _rawTextEnd = end;
+        _rawTextAscii = ascii;
+    }
+
+    /**
+     * @param rawStart Start of value in current input chunk, if value started in
+     *    it and has had no escapes so far; <code>-1</code> otherwise
+     */
+    private final JsonToken _finishRegularString(int rawStart) throws IOException
+    {
+        if (_inputAscii) {
+            return _finishAsciiString();
+        }
         int c;
 
         // Here we do want to do full decoding, hence:
         final int[] codes = _icUTF8;
-        final ByteBuffer inputBuffer = _inputBuffer;
 
         char[] outBuf = _textBuffer.getBufferWithoutReset();
         int outPtr = _textBuffer.getCurrentSegmentSize();
         int ptr = _inputPtr;
-        final int safeEnd = _inputEnd - 5; // longest escape is 6 chars
-        
-        main_loop:
+
         while (true) {
-            // Then the tight ASCII non-funny-char loop:
+            // Then the tight ASCII non-funny-char loop (words copied by helper, so just
+            // the tail is left byte-by-byte):
             ascii_loop:
             while (true) {
                 if (ptr >= _inputEnd) {
@@ -2449,8 +4126,11 @@ public class NonBlockingJsonParser
                     outPtr = 0;
                 }
                 final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+                final int run = _copyAsciiRun(ptr, max, outBuf, outPtr);
+                ptr += run;
+                outPtr += run;
                 while (ptr < max) {
-                    c = inputBuffer.get(ptr++) & 0xFF;
+                    c = _byteAt(ptr++) & 0xFF;
                     if (codes[c] != 0) {
                         break ascii_loop;
                     }
@@ -2458,65 +4138,280 @@ public class NonBlockingJsonParser
                 }
             }
             // Ok: end marker, escape or multi-byte?
+            _inputPtr = ptr;
+            _textBuffer.setCurrentLength(outPtr);
+            if (c != INT_QUOTE) {
+                c = _decodeMultiByteRun(c);
+            }
             if (c == INT_QUOTE) {
-                _inputPtr = ptr;
-                _textBuffer.setCurrentLength(outPtr);
+                if (rawStart >= 0) { // had multi-byte characters, as ASCII run was scanned
+                    _setRawText(rawStart, _inputPtr-1, false);
+                }
                 return _valueComplete(JsonToken.VALUE_STRING);
             }
-            // If possibly split, use off-lined longer version
-            if (ptr >= safeEnd) {
-                _inputPtr = ptr;
-                _textBuffer.setCurrentLength(outPtr);
-                if (!_decodeSplitMultiByte(c, codes[c], ptr < _inputEnd)) {
+            if (c >= 0) {
+                // escapes, 4-byte characters, invalid ones and possibly split ones by off-lined method
+                if (codes[c] < 2) { // escape or control character
+                    rawStart = -1;
+                }
+                if (!_decodeStringSpecial(c, codes[c])) {
                     _minorStateAfterSplit = MINOR_VALUE_STRING;
                     return (_currToken = JsonToken.NOT_AVAILABLE);
                 }
-                outBuf = _textBuffer.getBufferWithoutReset();
-                outPtr = _textBuffer.getCurrentSegmentSize();
-                ptr = _inputPtr;
-                continue main_loop;
             }
-            // otherwise use inlined
+            outBuf = _textBuffer.getBufferWithoutReset();
+            outPtr = _textBuffer.getCurrentSegmentSize();
+            ptr = _inputPtr;
+        }
+    }
+
+    /**
+     * Method called by {@link #_finishRegularString} to decode a run of 2- and 3-byte
+     * characters, like in CJK text, without going back to the ASCII loop in between;
+     * kept out of line so that the ASCII loop stays small enough to inline.
+     * Positions are passed in and out with {@link #_inputPtr} and text buffer.
+     *
+     * @param c First byte of run (consumed); may also be one that starts no run,
+     *    like backslash
+     *
+     * @return <code>-1</code> if run ended before plain ASCII byte or near end of input;
+     *    otherwise byte that ended it (consumed): closing quote, or one to be handled
+     *    by {@link #_decodeStringSpecial}
+     */
+    private final int _decodeMultiByteRun(int c) throws IOException
+    {
+        final int[] codes = _icUTF8;
+        final int safeEnd = _inputEnd - 5; // longest escape is 6 chars
+        char[] outBuf = _textBuffer.getBufferWithoutReset();
+        int outPtr = _textBuffer.getCurrentSegmentSize();
+        int ptr = _inputPtr;
+
+        while (ptr < safeEnd) {
             switch (codes[c]) {
-            case 1: // backslash
-                _inputPtr = ptr;
-                c = _decodeFastCharEscape(); // since we know it's not split
-                ptr = _inputPtr;
-                break;
             case 2: // 2-byte UTF
-                c = _decodeUTF8_2(c, _inputBuffer.get(ptr++));
-                break;
-            case 3: // 3-byte UTF
-                c = _decodeUTF8_3(c, _inputBuffer.get(ptr++), _inputBuffer.get(ptr++));
+                c = _decodeUTF8_2(c, _byteAt(ptr++));
                 break;
-            case 4: // 4-byte UTF
-                c = _decodeUTF8_4(c, _inputBuffer.get(ptr++), _inputBuffer.get(ptr++),
-                        _inputBuffer.get(ptr++));
-                // Let's add first part right away:
-                outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
-                if (outPtr >= outBuf.length) {
-                    outBuf = _textBuffer.finishCurrentSegment();
-                    outPtr = 0;
+            case 3: // 3-byte UTF; both continuation bytes checked at once
+                {
+                    final int d = _byteAt(ptr++);
+                    final int e = _byteAt(ptr++);
+                    if ((((d ^ 0x80) | (e ^ 0x80)) & 0xC0) != 0) {
+                        c = _decodeUTF8_3(c, d, e); // to report the invalid one
+                    } else {
+                        c = ((c & 0x0F) << 12) | ((d & 0x3F) << 6) | (e & 0x3F);
+                    }
                 }
-                c = 0xDC00 | (c & 0x3FF);
-                // And let the other char output down below
                 break;
-            default:
-                if (c < INT_SPACE) {
-                    // Note: call can now actually return (to allow unquoted linefeeds)
-                    _throwUnquotedSpace(c, "string value");
-                } else {
-                    // Is this good enough error message?
-                    _reportInvalidChar(c);
-                }
+            default: // escape, 4-byte or invalid
+                _inputPtr = ptr;
+                _textBuffer.setCurrentLength(outPtr);
+                return c;
             }
-            // Need more room?
             if (outPtr >= outBuf.length) {
                 outBuf = _textBuffer.finishCurrentSegment();
                 outPtr = 0;
             }
-            // Ok, let's add char to output:
             outBuf[outPtr++] = (char) c;
+            if (ptr >= safeEnd) {
+                c = -1;
+                break;
+            }
+            c = _byteAt(ptr) & 0xFF;
+            if (codes[c] == 0) {
+                c = -1;
+                break;
+            }
+            ++ptr;
+            if (c == INT_QUOTE) {
+                break;
+            }
+        }
+        _inputPtr = ptr;
+        _textBuffer.setCurrentLength(outPtr);
+        return c;
+    }
+
+    /**
+     * Variant of {@link #_finishRegularString} for input chunks with only 7-bit ASCII
+     * bytes, so that just quotes, backslashes and control characters need attention.
+     */
+    private final JsonToken _finishAsciiString() throws IOException
+    {
+        final int[] codes = _icUTF8;
+        char[] outBuf = _textBuffer.getBufferWithoutReset();
+        int outPtr = _textBuffer.getCurrentSegmentSize();
+        int ptr = _inputPtr;
+        final int end = _inputEnd;
+
+        while (true) {
+            if (ptr >= end) {
+                _inputPtr = ptr;
+                _minorState = MINOR_VALUE_STRING;
+                _textBuffer.setCurrentLength(outPtr);
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+            if (outPtr >= outBuf.length) {
+                outBuf = _textBuffer.finishCurrentSegment();
+                outPtr = 0;
+            }
+            final int max = Math.min(end, (ptr + (outBuf.length - outPtr)));
+            final int run = _copyAsciiRun(ptr, max, outBuf, outPtr);
+            ptr += run;
+            outPtr += run;
+            int c = -1;
+            while (ptr < max) {
+                c = _byteAt(ptr++);
+                if (codes[c] != 0) {
+                    break;
+                }
+                outBuf[outPtr++] = (char) c;
+                c = -1;
+            }
+            if (c < 0) { // nothing special before `max`
+                continue;
+            }
+            if (c == INT_QUOTE) {
+                _inputPtr = ptr;
+                _textBuffer.setCurrentLength(outPtr);
+                return _valueComplete(JsonToken.VALUE_STRING);
+            }
+            // backslash or control character
+            _inputPtr = ptr;
+            _textBuffer.setCurrentLength(outPtr);
+            if (!_decodeStringSpecial(c, codes[c])) {
+                _minorStateAfterSplit = MINOR_VALUE_STRING;
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+            outBuf = _textBuffer.getBufferWithoutReset();
+            outPtr = _textBuffer.getCurrentSegmentSize();
+            ptr = _inputPtr;
+        }
+    }
+
+    /**
+     * Method called by {@link #_finishRegularString} to decode and append a character
+     * other than plain ASCII or short multi-byte one not near end of input.
+     *
+     * @return True if character was decoded; false if its encoding is split and more
+     *   input is needed (in which case split state is set up)
+     */
+    private final boolean _decodeStringSpecial(int c, int code) throws IOException
+    {
+        if (_inputPtr >= (_inputEnd - 5)) { // longest escape is 6 chars
+            return _decodeSplitMultiByte(c, code, _inputPtr < _inputEnd);
+        }
+        switch (code) {
+        case 1: // backslash
+            c = _decodeFastCharEscape(); // since we know it's not split
+            break;
+        case 2: // 2-byte UTF
+            c = _decodeUTF8_2(c, _byteAt(_inputPtr++));
+            break;
+        case 3: // 3-byte UTF
+            c = _decodeUTF8_3(c, _byteAt(_inputPtr++), _byteAt(_inputPtr++));
+            break;
+        case 4: // 4-byte UTF
+            c = _decodeUTF8_4(c, _byteAt(_inputPtr++), _byteAt(_inputPtr++),
+                    _byteAt(_inputPtr++));
+            // Let's add first part right away:
+            _textBuffer.append((char) (0xD800 | (c >> 10)));
+            c = 0xDC00 | (c & 0x3FF);
+            break;
+        default:
+            if (c < INT_SPACE) {
+                // Note: call can now actually return (to allow unquoted linefeeds)
+                _throwUnquotedSpace(c, "string value");
+            } else {
+                // Is this good enough error message?
+                _reportInvalidChar(c);
+            }
+        }
+        _textBuffer.append((char) c);
+        return true;
+    }
+
+    /**
+     * Word-at-a-time check for bytes that end the plain ASCII run of a String value:
+     * double quote, backslash, control characters and bytes with high bit set
+     * (start of multi-byte UTF-8 sequence).
+     *
+     * @param word 8 input bytes, read in little-endian order
+     *
+     * @return Mask with high bit set for such bytes; exact for the lowest such byte
+     *   (higher ones may be false positives due to borrows), zero if there are none
+     */
+    private static long _stringSpecialBytes(long word)
+    {
+        final long quotes = word ^ (SWAR_ONES * INT_QUOTE);
+        final long escapes = word ^ (SWAR_ONES * INT_BACKSLASH);
+        return (((quotes - SWAR_ONES) & ~quotes)
+                | ((escapes - SWAR_ONES) & ~escapes)
+                | (word - (SWAR_ONES * INT_SPACE))
+                | word) & SWAR_HIGH_BITS;
+    }
+
+    /**
+     * Word-at-a-time check for bytes that end the plain run of a field name:
+     * double quote, backslash and control characters. Unlike with String values,
+     * bytes with high bit set need no attention, as names are decoded from quads.
+     *
+     * @param word 8 input bytes, read in little-endian order
+     *
+     * @return Mask with high bit set for such bytes; exact for the lowest such byte
+     *   (higher ones may be false positives due to borrows), zero if there are none
+     */
+    private static long _nameSpecialBytes(long word)
+    {
+        final long quotes = word ^ (SWAR_ONES * INT_QUOTE);
+        final long escapes = word ^ (SWAR_ONES * INT_BACKSLASH);
+        return (((quotes - SWAR_ONES) & ~quotes)
+                | ((escapes - SWAR_ONES) & ~escapes)
+                | ((word - (SWAR_ONES * INT_SPACE)) & ~word)) & SWAR_HIGH_BITS;
+    }
+
+    /**
+     * Same as {@link #_nameSpecialBytes(long)} for 4 bytes
+     */
+    private static int _nameSpecialBytes(int word)
+    {
+        final int ones = (int) SWAR_ONES;
+        final int quotes = word ^ (ones * INT_QUOTE);
+        final int escapes = word ^ (ones * INT_BACKSLASH);
+        return (((quotes - ones) & ~quotes)
+                | ((escapes - ones) & ~escapes)
+                | ((word - (ones * INT_SPACE)) & ~word)) & (int) SWAR_HIGH_BITS;
+    }
+
+    /**
+     * Copies plain ASCII bytes of a String value from <code>ptr</code> (exclusive
+     * <code>max</code>) into output buffer, 8 bytes at a time, stopping at the first
+     * byte that needs attention. Remaining tail (less than a word) is left for the
+     * caller to handle byte-by-byte, as is the byte that stopped the run.
+     *
+     * @return Number of bytes (and chars) copied
+     */
+    private final int _copyAsciiRun(int ptr, int max, char[] outBuf, int outPtr)
+    {
+        final ByteBuffer inputWords = _inputWords;
+        final int start = ptr;
+        while ((ptr + 8) <= max) {
+            final long word = inputWords.getLong(ptr);
+            final long special = _stringSpecialBytes(word);
+            if (special != 0L) {
+                final int clean = Long.numberOfTrailingZeros(special) >>> 3;
+                _copyAsciiBytes(word, clean, outBuf, outPtr + (ptr - start));
+                return (ptr - start) + clean;
+            }
+            _copyAsciiBytes(word, 8, outBuf, outPtr + (ptr - start));
+            ptr += 8;
+        }
+        return ptr - start;
+    }
+
+    private static void _copyAsciiBytes(long word, int count, char[] outBuf, int outPtr)
+    {
+        for (int i = 0; i < count; ++i) {
+            outBuf[outPtr + i] = (char) ((word >>> (i << 3)) & 0xFF);
         }
     }
 
@@ -2528,9 +4423,8 @@ public class NonBlockingJsonParser
         final int[] codes = _icUTF8;
 
         final int max = Math.min(_inputEnd, (ptr + outBuf.length));
-        final ByteBuffer inputBuffer = _inputBuffer;
         while (ptr < max) {
-            int c = (int) inputBuffer.get(ptr) & 0xFF;
+            int c = (int) _byteAt(ptr) & 0xFF;
             if (c == INT_APOS) {
                 _inputPtr = ptr+1;
                 _textBuffer.setCurrentLength(outPtr);
@@ -2552,7 +4446,6 @@ public class NonBlockingJsonParser
     {
         int c;
         final int[] codes = _icUTF8;
-        final ByteBuffer inputBuffer = _inputBuffer;
 
         char[] outBuf = _textBuffer.getBufferWithoutReset();
         int outPtr = _textBuffer.getCurrentSegmentSize();
@@ -2575,7 +4468,7 @@ public class NonBlockingJsonParser
                 }
                 final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
                 while (ptr < max) {
-                    c = inputBuffer.get(ptr++) & 0xFF;
+                    c = _byteAt(ptr++) & 0xFF;
                     if ((codes[c] != 0) && (c != INT_QUOTE)) {
                         break ascii_loop;
                     }
@@ -2609,14 +4502,14 @@ public class NonBlockingJsonParser
                 ptr = _inputPtr;
                 break;
             case 2: // 2-byte UTF
-                c = _decodeUTF8_2(c, _inputBuffer.get(ptr++));
+                c = _decodeUTF8_2(c, _byteAt(ptr++));
                 break;
             case 3: // 3-byte UTF
-                c = _decodeUTF8_3(c, _inputBuffer.get(ptr++), _inputBuffer.get(ptr++));
+                c = _decodeUTF8_3(c, _byteAt(ptr++), _byteAt(ptr++));
                 break;
             case 4: // 4-byte UTF
-                c = _decodeUTF8_4(c, _inputBuffer.get(ptr++), _inputBuffer.get(ptr++),
-                        _inputBuffer.get(ptr++));
+                c = _decodeUTF8_4(c, _byteAt(ptr++), _byteAt(ptr++),
+                        _byteAt(ptr++));
                 // Let's add first part right away:
                 outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
                 if (outPtr >= outBuf.length) {
@@ -2660,7 +4553,7 @@ public class NonBlockingJsonParser
         case 2: // 2-byte UTF; easy, either got both, or just miss one
             if (gotNext) {
                 // NOTE: always succeeds, no need to check
-                c = _decodeUTF8_2(c, _inputBuffer.get(_inputPtr++));
+                c = _decodeUTF8_2(c, _byteAt(_inputPtr++));
                 _textBuffer.append((char) c);
                 return true;
             }
@@ -2670,7 +4563,7 @@ public class NonBlockingJsonParser
         case 3: // 3-byte UTF
             c &= 0x0F;
             if (gotNext) {
-                return _decodeSplitUTF8_3(c, 1, _inputBuffer.get(_inputPtr++));
+                return _decodeSplitUTF8_3(c, 1, _byteAt(_inputPtr++));
             }
             _minorState = MINOR_VALUE_STRING_UTF8_3;
             _pending32 = c;
@@ -2679,7 +4572,7 @@ public class NonBlockingJsonParser
         case 4: // 4-byte UTF
             c &= 0x07;
             if (gotNext) {
-                return _decodeSplitUTF8_4(c, 1, _inputBuffer.get(_inputPtr++));
+                return _decodeSplitUTF8_4(c, 1, _byteAt(_inputPtr++));
             }
             _pending32 = c;
             _pendingBytes = 1;
@@ -2712,7 +4605,7 @@ public class NonBlockingJsonParser
                 _pendingBytes = 2;
                 return false;
             }
-            next = _inputBuffer.get(_inputPtr++);
+            next = _byteAt(_inputPtr++);
         }
         if ((next & 0xC0) != 0x080) {
             _reportInvalidOther(next & 0xFF, _inputPtr);
@@ -2738,7 +4631,7 @@ public class NonBlockingJsonParser
                 return false;
             }
             prevCount = 2;
-            next = _inputBuffer.get(_inputPtr++);
+            next = _byteAt(_inputPtr++);
         }
         if (prevCount == 2) {
             if ((next & 0xC0) != 0x080) {
@@ -2751,7 +4644,7 @@ public class NonBlockingJsonParser
                 _pendingBytes = 3;
                 return false;
             }
-            next = _inputBuffer.get(_inputPtr++);
+            next = _byteAt(_inputPtr++);
         }
         if ((next & 0xC0) != 0x080) {
             _reportInvalidOther(next & 0xFF, _inputPtr);
@@ -2782,7 +4675,7 @@ public class NonBlockingJsonParser
 
     private final int _decodeFastCharEscape() throws IOException
     {
-        int c = (int) _inputBuffer.get(_inputPtr++);
+        int c = (int) _byteAt(_inputPtr++);
         switch (c) {
             // First, ones that are mapped
         case 'b':
@@ -2814,20 +4707,20 @@ public class NonBlockingJsonParser
             }
         }
 
-        int ch = (int) _inputBuffer.get(_inputPtr++);
+        int ch = (int) _byteAt(_inputPtr++);
         int digit = CharTypes.charToHex(ch);
         int result = digit;
 
         if (digit >= 0) {
-            ch = (int) _inputBuffer.get(_inputPtr++);
+            ch = (int) _byteAt(_inputPtr++);
             digit = CharTypes.charToHex(ch);
             if (digit >= 0) {
                 result = (result << 4) | digit;
-                ch = (int) _inputBuffer.get(_inputPtr++);
+                ch = (int) _byteAt(_inputPtr++);
                 digit = CharTypes.charToHex(ch);
                 if (digit >= 0) {
                     result = (result << 4) | digit;
-                    ch = (int) _inputBuffer.get(_inputPtr++);
+                    ch = (int) _byteAt(_inputPtr++);
                     digit = CharTypes.charToHex(ch);
                     if (digit >= 0) {
                         return (result << 4) | digit;
@@ -0,0 +1,262 @@
+package com.fasterxml.jackson.core.async_;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+
+import java.io.IOException;
+
+/**
+ * {@link NonBlockingJsonParser} for strict (RFC 8259) JSON, used by
+ * {@link JsonFactory} when no feature for non-standard content is enabled.
+ * Main state transitions only handle what standard JSON may contain: anything
+ * else (comments, trailing commas, non-standard values, errors) is handed to
+ * the general methods of base class, which keeps these methods small enough
+ * to get inlined, without changing behavior even if such features get enabled
+ * later on.
+ */
+public class StrictNonBlockingJsonParser extends NonBlockingJsonParser
+{
+    /**
+     * Parser features that allow non-standard content
+     */
+    public final static int LENIENT_FEATURES = JsonParser.Feature.ALLOW_COMMENTS.getMask()
+            | JsonParser.Feature.ALLOW_YAML_COMMENTS.getMask()
+            | JsonParser.Feature.ALLOW_UNQUOTED_FIELD_NAMES.getMask()
+            | JsonParser.Feature.ALLOW_SINGLE_QUOTES.getMask()
+            | JsonParser.Feature.ALLOW_UNQUOTED_CONTROL_CHARS.getMask()
+            | JsonParser.Feature.ALLOW_BACKSLASH_ESCAPING_ANY_CHARACTER.getMask()
+            | JsonParser.Feature.ALLOW_NUMERIC_LEADING_ZEROS.getMask()
+            | JsonParser.Feature.ALLOW_NON_NUMERIC_NUMBERS.getMask()
+            | JsonParser.Feature.ALLOW_MISSING_VALUES.getMask()
+            | JsonParser.Feature.ALLOW_TRAILING_COMMA.getMask();
+
+    public StrictNonBlockingJsonParser(IOContext ctxt, int parserFeatures, ByteQuadsCanonicalizer sym,
+            boolean queueInput)
+    {
+        super(ctxt, parserFeatures, sym, queueInput);
+    }
+
+    StrictNonBlockingJsonParser(IOContext ctxt, int parserFeatures, ByteQuadsCanonicalizer sym,
+            boolean queueInput, SymbolTableStripes.Stripe symbolsStripe)
+    {
+        super(ctxt, parserFeatures, sym, queueInput, symbolsStripe);
+    }
+
+    /*
+    /**********************************************************************
+    /* Field names
+    /**********************************************************************
+     */
+
+    @Override
+    protected JsonToken _startFieldNameAfterComma(int ch) throws IOException
+    {
+        if (ch <= 0x0020) {
+            ch = _skipWS(ch);
+            if (ch <= 0) {
+                _minorState = MINOR_FIELD_LEADING_COMMA;
+                return _currToken;
+            }
+        }
+        if (ch != INT_COMMA) {
+            if (ch == INT_RCURLY) {
+                return _closeObjectScope();
+            }
+            return super._startFieldNameAfterComma(ch);
+        }
+        int ptr = _inputPtr;
+        if (ptr >= _inputEnd) {
+            _minorState = MINOR_FIELD_LEADING_WS;
+            return (_currToken = JsonToken.NOT_AVAILABLE);
+        }
+        ch = _byteAt(ptr);
+        _inputPtr = ptr+1;
+        if (ch <= 0x0020) {
+            ch = _skipWS(ch);
+            if (ch <= 0) {
+                _minorState = MINOR_FIELD_LEADING_WS;
+                return _currToken;
+            }
+        }
+        _updateTokenLocation();
+        if (ch != INT_QUOTE) {
+            return _startOddNameAfterComma(ch);
+        }
+        return _startQuotedName(false);
+    }
+
+    /*
+    /**********************************************************************
+    /* Values
+    /**********************************************************************
+     */
+
+    @Override
+    protected JsonToken _startValue(int ch) throws IOException
+    {
+        if (ch <= 0x0020) {
+            ch = _skipWS(ch);
+            if (ch <= 0) {
+                _minorState = MINOR_VALUE_LEADING_WS;
+                return _currToken;
+            }
+        }
+        _updateTokenLocation();
+        switch (ch) {
+        case '"':
+            return _startString();
+        case '-':
+            return _startNegativeNumber();
+        case '0':
+            return _startNumberLeadingZero();
+        case '1': case '2': case '3':
+        case '4': case '5': case '6':
+        case '7': case '8': case '9':
+            return _startPositiveNumber(ch);
+        case 'f':
+            return _startFalseToken();
+        case 'n':
+            return _startNullToken();
+        case 't':
+            return _startTrueToken();
+        case '[':
+            return _startArrayScope();
+        case ']':
+            return _closeArrayScope();
+        case '{':
+            return _startObjectScope();
+        case '}':
+            return _closeObjectScope();
+        default:
+        }
+        return super._startValue(ch);
+    }
+
+    @Override
+    protected JsonToken _startValueExpectComma(int ch) throws IOException
+    {
+        if (ch <= 0x0020) {
+            ch = _skipWS(ch);
+            if (ch <= 0) {
+                _minorState = MINOR_VALUE_EXPECTING_COMMA;
+                return _currToken;
+            }
+        }
+        if (ch != INT_COMMA) {
+            if (ch == INT_RBRACKET) {
+                return _closeArrayScope();
+            }
+            if (ch == INT_RCURLY) {
+                return _closeObjectScope();
+            }
+            return super._startValueExpectComma(ch);
+        }
+        int ptr = _inputPtr;
+        if (ptr >= _inputEnd) {
+            _minorState = MINOR_VALUE_WS_AFTER_COMMA;
+            return (_currToken = JsonToken.NOT_AVAILABLE);
+        }
+        ch = _byteAt(ptr);
+        _inputPtr = ptr+1;
+        return _startValueAfterComma(ch);
+    }
+
+    @Override
+    protected JsonToken _startValueExpectColon(int ch) throws IOException
+    {
+        if (ch <= 0x0020) {
+            ch = _skipWS(ch);
+            if (ch <= 0) {
+                _minorState = MINOR_VALUE_EXPECTING_COLON;
+                return _currToken;
+            }
+        }
+        if (ch != INT_COLON) {
+            return super._startValueExpectColon(ch);
+        }
+        int ptr = _inputPtr;
+        if (ptr >= _inputEnd) {
+            _minorState = MINOR_VALUE_LEADING_WS;
+            return (_currToken = JsonToken.NOT_AVAILABLE);
+        }
+        ch = _byteAt(ptr);
+        _inputPtr = ptr+1;
+        if (ch <= 0x0020) {
+            ch = _skipWS(ch);
+            if (ch <= 0) {
+                _minorState = MINOR_VALUE_LEADING_WS;
+                return _currToken;
+            }
+        }
+        _updateTokenLocation();
+        switch (ch) {
+        case '"':
+            return _startString();
+        case '-':
+            return _startNegativeNumber();
+        case '0':
+            return _startNumberLeadingZero();
+        case '1': case '2': case '3':
+        case '4': case '5': case '6':
+        case '7': case '8': case '9':
+            return _startPositiveNumber(ch);
+        case 'f':
+            return _startFalseToken();
+        case 'n':
+            return _startNullToken();
+        case 't':
+            return _startTrueToken();
+        case '[':
+            return _startArrayScope();
+        case '{':
+            return _startObjectScope();
+        case ']':
+        case '}':
+            // no closing markers right after colon
+            return _startUnexpectedValue(false, ch);
+        default:
+        }
+        // comments, non-standard values, errors
+        return super._startValue(ch);
+    }
+
+    @Override
+    protected JsonToken _startValueAfterComma(int ch) throws IOException
+    {
+        if (ch <= 0x0020) {
+            ch = _skipWS(ch);
+            if (ch <= 0) {
+                _minorState = MINOR_VALUE_WS_AFTER_COMMA;
+                return _currToken;
+            }
+        }
+        _updateTokenLocation();
+        switch (ch) {
+        case '"':
+            return _startString();
+        case '-':
+            return _startNegativeNumber();
+        case '0':
+            return _startNumberLeadingZero();
+        case '1': case '2': case '3':
+        case '4': case '5': case '6':
+        case '7': case '8': case '9':
+            return _startPositiveNumber(ch);
+        case 'f':
+            return _startFalseToken();
+        case 'n':
+            return _startNullToken();
+        case 't':
+            return _startTrueToken();
+        case '[':
+            return _startArrayScope();
+        case '{':
+            return _startObjectScope();
+        default:
+        }
+        // closing markers (trailing comma), comments, non-standard values, errors
+        return super._startValueAfterComma(ch);
+    }
+}
@@ -0,0 +1,24 @@
+package com.fasterxml.jackson.core.async_;
+
+import java.io.IOException;
+
+/**
+ * Receiver of the text of long String values in parts, as input arrives, for
+ * consumers that need not (or can not afford to) have whole values in memory:
+ * see {@link NonBlockingJsonParser#setStringChunkListener}.
+ */
+public interface StringChunkListener
+{
+    /**
+     * Called with the next part of the String value being decoded. Note that
+     * parts may split surrogate pairs.
+     *
+     * @param buffer Buffer containing characters; only valid during the call
+     * @param offset Offset of the first character in buffer
+     * @param length Number of characters
+     * @param last Whether this is the final part of the value, in which case
+     *    {@link com.fasterxml.jackson.core.JsonToken#VALUE_STRING} is returned
+     *    next (with empty text)
+     */
+    void stringChunk(char[] buffer, int offset, int length, boolean last) throws IOException;
+}
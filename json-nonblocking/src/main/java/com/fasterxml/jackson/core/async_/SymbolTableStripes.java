@@ -0,0 +1,99 @@
+package com.fasterxml.jackson.core.async_;
+
+import com.fasterxml.jackson.core.sym.ByteQuadsCanonicalizer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Set of root field-name symbol tables that parsers of a {@link JsonFactory} start
+ * from. With more than one stripe, concurrently running parsers get their tables
+ * from (and merge names back into) different roots, chosen by thread, so that they
+ * do not all compete for the very same root.
+ *<p>
+ * Lookups are read-only on all paths: a parser only copies a table on its first new
+ * name. Merging back is lock-free in {@link ByteQuadsCanonicalizer} itself; on top of
+ * that, stripes only let through merges that grow the root and optionally at most one
+ * per configured interval, so that roots do not churn.
+ */
+final class SymbolTableStripes
+{
+    private final Stripe[] _stripes;
+
+    private final int _mask;
+
+    /**
+     * Single stripe around given root table, merging whenever it grows
+     */
+    SymbolTableStripes(ByteQuadsCanonicalizer root)
+    {
+        _stripes = new Stripe[] { new Stripe(root, 0L) };
+        _mask = 0;
+    }
+
+    /**
+     * @param count Number of stripes; rounded up to a power of two
+     * @param mergeIntervalNanos Minimum time between merges into any one stripe
+     */
+    SymbolTableStripes(int count, long mergeIntervalNanos)
+    {
+        int size = 1;
+        while (size < count) {
+            size <<= 1;
+        }
+        _stripes = new Stripe[size];
+        for (int i = 0; i < size; ++i) {
+            _stripes[i] = new Stripe(ByteQuadsCanonicalizer.createRoot(), mergeIntervalNanos);
+        }
+        _mask = size - 1;
+    }
+
+    Stripe current()
+    {
+        return _stripes[(int) Thread.currentThread().getId() & _mask];
+    }
+
+    Stripe[] all()
+    {
+        return _stripes;
+    }
+
+    static final class Stripe
+    {
+        private final ByteQuadsCanonicalizer _root;
+
+        private final long _mergeIntervalNanos;
+
+        private final AtomicLong _nextMergeNanos = new AtomicLong(System.nanoTime());
+
+        Stripe(ByteQuadsCanonicalizer root, long mergeIntervalNanos)
+        {
+            _root = root;
+            _mergeIntervalNanos = mergeIntervalNanos;
+        }
+
+        ByteQuadsCanonicalizer makeChild(int flags)
+        {
+            return _root.makeChild(flags);
+        }
+
+        /**
+         * Merges names added by given child table back into root, unless that
+         * would not grow root (another parser merged a bigger table meanwhile)
+         * or merge interval has not yet elapsed.
+         */
+        void release(ByteQuadsCanonicalizer child)
+        {
+            if (!child.maybeDirty() || (child.size() <= _root.size())) {
+                return;
+            }
+            if (_mergeIntervalNanos > 0L) {
+                final long next = _nextMergeNanos.get();
+                final long now = System.nanoTime();
+                if (((now - next) < 0L) || !_nextMergeNanos.compareAndSet(next, now + _mergeIntervalNanos)) {
+                    return;
+                }
+            }
+            child.release();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package reactivejson;
+
+import com.fasterxml.jackson.core.SerializableString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * String value kept as the raw bytes it was parsed from, for values that are plain
+ * ASCII and had no escapes: those bytes are then both its UTF-8 and its quoted
+ * (escaped) form, so generators write them as they are, and a {@link String} is
+ * only created if the value is actually asked for.
+ */
+final class AsciiString implements SerializableString {
+
+	private final byte[] bytes;
+
+	private String value;
+
+	AsciiString(byte[] bytes) {
+		this.bytes = bytes;
+	}
+
+	@Override
+	public String getValue() {
+		String value = this.value;
+		if (value == null) {
+			value = new String(this.bytes, StandardCharsets.ISO_8859_1);
+			this.value = value;
+		}
+		return value;
+	}
+
+	@Override
+	public int charLength() {
+		return this.bytes.length;
+	}
+
+	@Override
+	public char[] asQuotedChars() {
+		return getValue().toCharArray();
+	}
+
+	@Override
+	public byte[] asUnquotedUTF8() {
+		return this.bytes;
+	}
+
+	@Override
+	public byte[] asQuotedUTF8() {
+		return this.bytes;
+	}
+
+	@Override
+	public int appendQuotedUTF8(byte[] buffer, int offset) {
+		return appendUnquotedUTF8(buffer, offset);
+	}
+
+	@Override
+	public int appendQuoted(char[] buffer, int offset) {
+		return appendUnquoted(buffer, offset);
+	}
+
+	@Override
+	public int appendUnquotedUTF8(byte[] buffer, int offset) {
+		int length = this.bytes.length;
+		if (offset + length > buffer.length) {
+			return -1;
+		}
+		System.arraycopy(this.bytes, 0, buffer, offset, length);
+		return length;
+	}
+
+	@Override
+	public int appendUnquoted(char[] buffer, int offset) {
+		String value = getValue();
+		int length = value.length();
+		if (offset + length > buffer.length) {
+			return -1;
+		}
+		value.getChars(0, length, buffer, offset);
+		return length;
+	}
+
+	@Override
+	public int writeQuotedUTF8(OutputStream out) throws IOException {
+		return writeUnquotedUTF8(out);
+	}
+
+	@Override
+	public int writeUnquotedUTF8(OutputStream out) throws IOException {
+		out.write(this.bytes);
+		return this.bytes.length;
+	}
+
+	@Override
+	public int putQuotedUTF8(ByteBuffer buffer) {
+		return putUnquotedUTF8(buffer);
+	}
+
+	@Override
+	public int putUnquotedUTF8(ByteBuffer buffer) {
+		int length = this.bytes.length;
+		if (length > buffer.remaining()) {
+			return -1;
+		}
+		buffer.put(this.bytes);
+		return length;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if (other == this) {
+			return true;
+		}
+		if (other == null || other.getClass() != getClass()) {
+			return false;
+		}
+		return getValue().equals(((AsciiString) other).getValue());
+	}
+
+	@Override
+	public int hashCode() {
+		return getValue().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return getValue();
+	}
+
+}
@@ -0,0 +1,223 @@
+package reactivejson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+
+/**
+ * View of the live non-blocking parser that is bounded to one element: starts at
+ * its first token, and returns {@code null} after its last one, without advancing
+ * the underlying parser any further. Only used for elements that are complete in
+ * current input, so the underlying parser never runs out of input while read
+ * through this view.
+ *
+ * <p>Methods the underlying parser implements with fast paths of its own (such as
+ * field name matching) are delegated to it; closing and clearing current token
+ * are not, as the parser remains in use by the {@link Tokenizer}. Nor are changes
+ * of features (as made by {@code ObjectReader} for each value it reads), which
+ * only apply to this view.
+ */
+class ElementParser extends JsonParserDelegate {
+
+	/**
+	 * Number of Objects and Arrays of the element that have not been closed yet
+	 */
+	private int depth;
+
+	private boolean ended;
+
+	/**
+	 * Features as seen through this view: changes apply to these instead of the
+	 * underlying parser, which tokenizes the rest of the stream (and has already
+	 * tokenized current element, so changes could not apply to it anyway)
+	 */
+	private int features;
+
+	ElementParser(JsonParser parser) {
+		super(parser);
+	}
+
+	/**
+	 * Starts a view of element whose first token the underlying parser is at.
+	 */
+	ElementParser start() {
+		this.depth = delegate.currentToken().isStructStart() ? 1 : 0;
+		this.ended = false;
+		this.features = delegate.getFeatureMask();
+		return this;
+	}
+
+	/**
+	 * Skips whatever part of the element has not been read through this view.
+	 */
+	void finish() throws IOException {
+		while (this.depth > 0) {
+			skipChildren();
+			if (this.depth > 0) {
+				nextToken();
+			}
+		}
+	}
+
+	@Override
+	public JsonToken nextToken() throws IOException {
+		if (this.depth == 0) {
+			this.ended = true;
+			return null;
+		}
+		return track(delegate.nextToken());
+	}
+
+	@Override
+	public JsonToken nextValue() throws IOException {
+		JsonToken token = nextToken();
+		if (token == JsonToken.FIELD_NAME) {
+			token = nextToken();
+		}
+		return token;
+	}
+
+	@Override
+	public boolean nextFieldName(SerializableString str) throws IOException {
+		if (this.depth == 0) {
+			this.ended = true;
+			return false;
+		}
+		boolean matches = delegate.nextFieldName(str);
+		track(delegate.currentToken());
+		return matches;
+	}
+
+	@Override
+	public String nextFieldName() throws IOException {
+		if (this.depth == 0) {
+			this.ended = true;
+			return null;
+		}
+		String name = delegate.nextFieldName();
+		track(delegate.currentToken());
+		return name;
+	}
+
+	@Override
+	public String nextTextValue() throws IOException {
+		if (this.depth == 0) {
+			this.ended = true;
+			return null;
+		}
+		String text = delegate.nextTextValue();
+		track(delegate.currentToken());
+		return text;
+	}
+
+	@Override
+	public JsonParser skipChildren() throws IOException {
+		if (!this.ended && delegate.currentToken().isStructStart()) {
+			delegate.skipChildren();
+			track(delegate.currentToken());
+		}
+		return this;
+	}
+
+	@Override
+	public JsonToken currentToken() {
+		return this.ended ? null : delegate.currentToken();
+	}
+
+	@Override
+	public JsonToken getCurrentToken() {
+		return currentToken();
+	}
+
+	@Override
+	public int currentTokenId() {
+		return this.ended ? JsonTokenId.ID_NO_TOKEN : delegate.currentTokenId();
+	}
+
+	@Override
+	public int getCurrentTokenId() {
+		return currentTokenId();
+	}
+
+	@Override
+	public boolean hasCurrentToken() {
+		return !this.ended && delegate.hasCurrentToken();
+	}
+
+	@Override
+	public boolean hasTokenId(int id) {
+		return this.ended ? (id == JsonTokenId.ID_NO_TOKEN) : delegate.hasTokenId(id);
+	}
+
+	@Override
+	public boolean hasToken(JsonToken t) {
+		return this.ended ? (t == null) : delegate.hasToken(t);
+	}
+
+	@Override
+	public void clearCurrentToken() {
+		this.ended = true;
+	}
+
+	@Override
+	public void close() {
+	}
+
+	@Override
+	public JsonParser enable(Feature f) {
+		this.features |= f.getMask();
+		return this;
+	}
+
+	@Override
+	public JsonParser disable(Feature f) {
+		this.features &= ~f.getMask();
+		return this;
+	}
+
+	@Override
+	public boolean isEnabled(Feature f) {
+		return f.enabledIn(this.features);
+	}
+
+	@Override
+	public int getFeatureMask() {
+		return this.features;
+	}
+
+	@Override
+	public JsonParser setFeatureMask(int mask) {
+		this.features = mask;
+		return this;
+	}
+
+	@Override
+	public JsonParser overrideStdFeatures(int values, int mask) {
+		this.features = (this.features & ~mask) | (values & mask);
+		return this;
+	}
+
+	@Override
+	public JsonParser overrideFormatFeatures(int values, int mask) {
+		return this;
+	}
+
+	private JsonToken track(JsonToken token) throws IOException {
+		if (token == null || token == JsonToken.NOT_AVAILABLE) {
+			throw _constructError("Unexpected end of element");
+		}
+		this.ended = false;
+		if (token.isStructStart()) {
+			this.depth++;
+		}
+		else if (token.isStructEnd()) {
+			this.depth--;
+		}
+		return token;
+	}
+
+}
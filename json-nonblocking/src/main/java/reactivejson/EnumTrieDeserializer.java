@@ -0,0 +1,119 @@
+package reactivejson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.deser.std.EnumDeserializer;
+import com.fasterxml.jackson.databind.util.CompactStringObjectMap;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * {@link EnumDeserializer} matching String values against a trie of the enum's
+ * names, built once from its lookup, straight from the parser's text characters
+ * rather than from a {@link String}. Anything not found in the trie (other tokens,
+ * unknown or case-insensitive names, names from {@code toString()}) is left to the
+ * regular lookup and error handling.
+ */
+class EnumTrieDeserializer extends EnumDeserializer {
+
+	private static final long serialVersionUID = 1L;
+
+	private final Node root;
+
+	EnumTrieDeserializer(EnumDeserializer base, Boolean caseInsensitive) {
+		super(base, caseInsensitive);
+		this.root = Node.of(_lookupByName);
+	}
+
+	private EnumTrieDeserializer(EnumTrieDeserializer base, Boolean caseInsensitive) {
+		super(base, caseInsensitive);
+		this.root = base.root;
+	}
+
+	@Override
+	public EnumDeserializer withResolved(Boolean caseInsensitive) {
+		if (_caseInsensitive == caseInsensitive) {
+			return this;
+		}
+		return new EnumTrieDeserializer(this, caseInsensitive);
+	}
+
+	@Override
+	public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+		if (p.hasToken(JsonToken.VALUE_STRING) && !ctxt.isEnabled(DeserializationFeature.READ_ENUMS_USING_TO_STRING)) {
+			Object value = this.root.find(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+			if (value != null) {
+				return value;
+			}
+		}
+		return super.deserialize(p, ctxt);
+	}
+
+
+	/**
+	 * Trie node; children are found with a linear scan of their first characters,
+	 * as names of one enum rarely branch much at any given position.
+	 */
+	private static final class Node implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private char[] chars = new char[0];
+
+		private Node[] children = new Node[0];
+
+		private Object value;
+
+		static Node of(CompactStringObjectMap lookup) {
+			Node root = new Node();
+			for (String name : lookup.keys()) {
+				root.add(name, lookup.find(name));
+			}
+			return root;
+		}
+
+		private void add(String name, Object value) {
+			Node node = this;
+			for (int i = 0; i < name.length(); i++) {
+				char c = name.charAt(i);
+				int index = node.indexOf(c);
+				if (index < 0) {
+					index = node.chars.length;
+					node.chars = Arrays.copyOf(node.chars, index + 1);
+					node.chars[index] = c;
+					node.children = Arrays.copyOf(node.children, index + 1);
+					node.children[index] = new Node();
+				}
+				node = node.children[index];
+			}
+			node.value = value;
+		}
+
+		Object find(char[] text, int offset, int length) {
+			Node node = this;
+			for (int i = offset, end = offset + length; i < end; i++) {
+				int index = node.indexOf(text[i]);
+				if (index < 0) {
+					return null;
+				}
+				node = node.children[index];
+			}
+			return node.value;
+		}
+
+		private int indexOf(char c) {
+			char[] chars = this.chars;
+			for (int i = 0; i < chars.length; i++) {
+				if (chars[i] == c) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
+
+}
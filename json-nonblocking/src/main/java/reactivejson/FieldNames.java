@@ -0,0 +1,59 @@
+package reactivejson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Collects JSON field names that deserializing a type may encounter, as seen by
+ * {@link ObjectReader} configuration (naming strategy, mix-ins, annotations),
+ * to seed {@link com.fasterxml.jackson.core.async_.JsonFactory#seedFieldNames(Iterable)}.
+ */
+public final class FieldNames {
+
+	private FieldNames() {
+	}
+
+	public static Set<String> of(ObjectReader reader, Class<?> type) {
+		return of(reader, reader.getTypeFactory().constructType(type));
+	}
+
+	/**
+	 * @return names of properties of given type and of nested bean types
+	 * (including those in containers)
+	 */
+	public static Set<String> of(ObjectReader reader, JavaType type) {
+		Set<String> names = new LinkedHashSet<>();
+		collect(reader.getConfig(), type, names, new HashSet<>());
+		return names;
+	}
+
+	private static void collect(DeserializationConfig config, JavaType type,
+								Set<String> names, Set<JavaType> visited) {
+		if (type == null || !visited.add(type)) {
+			return;
+		}
+		if (type.isContainerType() || type.isReferenceType()) {
+			collect(config, type.getContentType(), names, visited);
+			return;
+		}
+		if (type.isPrimitive() || type.isEnumType() || type.isJavaLangObject()
+				|| type.getRawClass().getName().startsWith("java.")) {
+			return;
+		}
+		BeanDescription description = config.introspect(type);
+		for (BeanPropertyDefinition property : description.findProperties()) {
+			if (property.couldDeserialize()) {
+				names.add(property.getName());
+				collect(config, property.getPrimaryType(), names, visited);
+			}
+		}
+	}
+
+}
@@ -1,17 +1,34 @@
 package reactivejson;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.async_.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.fasterxml.jackson.databind.util.TokenBuffer;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-public class NonBlockingObjectReader {
+/**
+ * Reads objects from a stream of byte buffers.
+ * Should be closed once done with (completed, failed or cancelled) so that the
+ * underlying parser can be reused; methods are synchronized as closing may
+ * come from another thread than reading.
+ *
+ * <p>Objects (and root-level Arrays) are not tokenized by the non-blocking parser
+ * but just scanned for their end, and then bound from their bytes with a regular
+ * blocking parser: directly from the input buffer when they lie within one buffer
+ * (such as a whole document arriving at once), which is much faster than going
+ * through a {@link TokenBuffer}. Other values, and all values if the parser
+ * allows non-standard content, are bound straight from the non-blocking parser if
+ * they lie within the input fed so far, and otherwise take the token path.
+ */
+public class NonBlockingObjectReader implements Closeable {
 
+	private final JsonFactory jsonFactory;
 	private final Tokenizer tokenizer;
 	private final ObjectReader reader;
 
@@ -19,29 +36,50 @@ public class NonBlockingObjectReader {
 			JsonFactory jsonFactory, boolean tokenizeArrayElements,
 			ObjectReader reader) throws IOException {
 
-		this.tokenizer = new Tokenizer(jsonFactory, tokenizeArrayElements);
+		this.jsonFactory = jsonFactory;
+		this.tokenizer = new Tokenizer(jsonFactory, tokenizeArrayElements, true, true);
 		this.reader = reader;
 	}
 
-	public <T> List<T> readObjects(ByteBuffer byteBuffer) throws IOException {
-		List<TokenBuffer> tokenBuffers = tokenizer.tokenize(byteBuffer);
-		List<T> objects = new ArrayList<>(tokenBuffers.size());
-		for(TokenBuffer tokenBuffer : tokenBuffers){
-			objects.add(reader.readValue(tokenBuffer.asParser(reader)));
-		}
+	public synchronized <T> List<T> readObjects(ByteBuffer byteBuffer) throws IOException {
+		List<T> objects = new ArrayList<>();
+		tokenizer.tokenize(byteBuffer, collector(objects));
 		return objects;
 	}
 
-	public <T> List<T> endOfInput() throws IOException {
-		List<TokenBuffer> tokenBuffers = tokenizer.endOfInput();
-		if(tokenBuffers.isEmpty()){
-			return Collections.emptyList();
-		}
-		List<T> objects = new ArrayList<>(tokenBuffers.size());
-		for(TokenBuffer tokenBuffer : tokenBuffers){
-			objects.add(reader.readValue(tokenBuffer.asParser(reader)));
-		}
+	public synchronized <T> List<T> endOfInput() throws IOException {
+		List<T> objects = new ArrayList<>();
+		tokenizer.endOfInput(collector(objects));
 		return objects;
 	}
 
+	@Override
+	public synchronized void close() throws IOException {
+		tokenizer.close();
+	}
+
+	private <T> Tokenizer.ElementHandler collector(List<T> objects) {
+		return new Tokenizer.ElementHandler() {
+			@Override
+			public void tokens(TokenBuffer tokenBuffer) throws IOException {
+				objects.add(reader.readValue(tokenBuffer.asParser(reader)));
+			}
+
+			@Override
+			public void bytes(ByteBuffer bytes) throws IOException {
+				// parser from our own factory, so that its features apply as on the token path
+				try (JsonParser parser = bytes.hasArray() ?
+						jsonFactory.createParser(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining()) :
+						jsonFactory.createParser(new ByteBufferBackedInputStream(bytes))) {
+					objects.add(reader.readValue(parser));
+				}
+			}
+
+			@Override
+			public void parser(JsonParser parser) throws IOException {
+				objects.add(reader.readValue(parser));
+			}
+		};
+	}
+
 }
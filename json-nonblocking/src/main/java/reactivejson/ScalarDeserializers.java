@@ -0,0 +1,398 @@
+package reactivejson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.UUIDDeserializer;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Deserializers for the most frequent non-numeric scalars, decoding values in their
+ * canonical form straight from the parser's text characters, so that neither a
+ * {@link String} nor a second parse is needed. Anything else (other formats, other
+ * tokens, invalid values) is left to the regular parsing and error handling.
+ */
+final class ScalarDeserializers {
+
+	private static final long SECONDS_PER_DAY = 86400L;
+
+	private static final long DAYS_0000_TO_1970 = 719528L;
+
+	private static final int[] HEX_VALUES = new int[128];
+
+	static {
+		Arrays.fill(HEX_VALUES, -1);
+		for (int i = 0; i < 10; i++) {
+			HEX_VALUES['0' + i] = i;
+		}
+		for (int i = 0; i < 6; i++) {
+			HEX_VALUES['a' + i] = 10 + i;
+			HEX_VALUES['A' + i] = 10 + i;
+		}
+	}
+
+	private ScalarDeserializers() {
+	}
+
+
+	/**
+	 * Base class: String values are first tried from their characters, and
+	 * {@link #deserializeOther} is called if that returns {@code null}.
+	 */
+	abstract static class FromChars<T> extends StdScalarDeserializer<T> {
+
+		private static final long serialVersionUID = 1L;
+
+		FromChars(Class<T> valueClass) {
+			super(valueClass);
+		}
+
+		@Override
+		public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+			if (p.hasToken(JsonToken.VALUE_STRING)) {
+				T value = parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+				if (value != null) {
+					return value;
+				}
+			}
+			return deserializeOther(p, ctxt);
+		}
+
+		/**
+		 * @return the value, or {@code null} if the text is not in the canonical form
+		 */
+		abstract T parse(char[] text, int offset, int length);
+
+		abstract T deserializeOther(JsonParser p, DeserializationContext ctxt) throws IOException;
+	}
+
+
+	/**
+	 * Base class for {@code java.time} values, falling back to the type's own
+	 * {@code parse} method.
+	 */
+	abstract static class TimeDeserializer<T> extends FromChars<T> {
+
+		private static final long serialVersionUID = 1L;
+
+		TimeDeserializer(Class<T> valueClass) {
+			super(valueClass);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		T deserializeOther(JsonParser p, DeserializationContext ctxt) throws IOException {
+			if (!p.hasToken(JsonToken.VALUE_STRING)) {
+				return (T) ctxt.handleUnexpectedToken(handledType(), p);
+			}
+			String text = p.getText().trim();
+			if (text.isEmpty()) {
+				return null;
+			}
+			try {
+				return parse(text);
+			}
+			catch (DateTimeException ex) {
+				return (T) ctxt.handleWeirdStringValue(handledType(), text, "%s", ex.getMessage());
+			}
+		}
+
+		abstract T parse(String text);
+	}
+
+
+	static final class InstantDeserializer extends TimeDeserializer<Instant> {
+
+		private static final long serialVersionUID = 1L;
+
+		static final InstantDeserializer INSTANCE = new InstantDeserializer();
+
+		private InstantDeserializer() {
+			super(Instant.class);
+		}
+
+		/**
+		 * Only takes UTC ("Z") timestamps, as {@link Instant#parse} does before Java 12:
+		 * ones with an offset are left to it, to be accepted or not as it decides.
+		 */
+		@Override
+		Instant parse(char[] text, int offset, int length) {
+			int date = parseDate(text, offset, length);
+			int time = (date < 0) ? -1 : parseTime(text, offset, length);
+			int zone = (time < 0) ? -1 : endOfFraction(text, offset, length);
+			if (zone != offset + length - 1 || text[zone] != 'Z') {
+				return null;
+			}
+			long epochSecond = epochDay(date) * SECONDS_PER_DAY + time;
+			return Instant.ofEpochSecond(epochSecond, parseNanos(text, offset, zone));
+		}
+
+		@Override
+		Instant parse(String text) {
+			return Instant.parse(text);
+		}
+	}
+
+
+	static final class OffsetDateTimeDeserializer extends TimeDeserializer<OffsetDateTime> {
+
+		private static final long serialVersionUID = 1L;
+
+		static final OffsetDateTimeDeserializer INSTANCE = new OffsetDateTimeDeserializer();
+
+		private OffsetDateTimeDeserializer() {
+			super(OffsetDateTime.class);
+		}
+
+		@Override
+		OffsetDateTime parse(char[] text, int offset, int length) {
+			int date = parseDate(text, offset, length);
+			int time = (date < 0) ? -1 : parseTime(text, offset, length);
+			int zone = (time < 0) ? -1 : endOfFraction(text, offset, length);
+			int zoneOffset = (zone < 0) ? Integer.MIN_VALUE : parseOffset(text, zone, offset + length);
+			if (zoneOffset == Integer.MIN_VALUE) {
+				return null;
+			}
+			return OffsetDateTime.of(date >> 9, (date >> 5) & 0xF, date & 0x1F,
+					time / 3600, (time / 60) % 60, time % 60, parseNanos(text, offset, zone),
+					ZoneOffset.ofTotalSeconds(zoneOffset));
+		}
+
+		@Override
+		OffsetDateTime parse(String text) {
+			return OffsetDateTime.parse(text);
+		}
+	}
+
+
+	static final class LocalDateDeserializer extends TimeDeserializer<LocalDate> {
+
+		private static final long serialVersionUID = 1L;
+
+		static final LocalDateDeserializer INSTANCE = new LocalDateDeserializer();
+
+		private LocalDateDeserializer() {
+			super(LocalDate.class);
+		}
+
+		@Override
+		LocalDate parse(char[] text, int offset, int length) {
+			int date = (length == 10) ? parseDate(text, offset, length) : -1;
+			return (date < 0) ? null : LocalDate.of(date >> 9, (date >> 5) & 0xF, date & 0x1F);
+		}
+
+		@Override
+		LocalDate parse(String text) {
+			return LocalDate.parse(text);
+		}
+	}
+
+
+	/**
+	 * Canonical "8-4-4-4-12" UUIDs, in either case; everything else (including
+	 * Base64-encoded binary UUIDs) goes to databind's own deserializer.
+	 */
+	static final class UuidDeserializer extends FromChars<UUID> {
+
+		private static final long serialVersionUID = 1L;
+
+		static final UuidDeserializer INSTANCE = new UuidDeserializer();
+
+		private static final UUIDDeserializer DEFAULT = new UUIDDeserializer();
+
+		private UuidDeserializer() {
+			super(UUID.class);
+		}
+
+		@Override
+		UUID parse(char[] text, int offset, int length) {
+			if (length != 36 || text[offset + 8] != '-' || text[offset + 13] != '-'
+					|| text[offset + 18] != '-' || text[offset + 23] != '-') {
+				return null;
+			}
+			long hi1 = parseHex(text, offset, 8);
+			long hi2 = parseHex(text, offset + 9, 4);
+			long hi3 = parseHex(text, offset + 14, 4);
+			long lo1 = parseHex(text, offset + 19, 4);
+			long lo2 = parseHex(text, offset + 24, 12);
+			if ((hi1 | hi2 | hi3 | lo1 | lo2) < 0) {
+				return null;
+			}
+			return new UUID((hi1 << 32) | (hi2 << 16) | hi3, (lo1 << 48) | lo2);
+		}
+
+		@Override
+		UUID deserializeOther(JsonParser p, DeserializationContext ctxt) throws IOException {
+			return DEFAULT.deserialize(p, ctxt);
+		}
+	}
+
+
+	// Parsing helpers; all return a negative value if the text does not match
+
+	/**
+	 * Parses "yyyy-MM-dd" (years 0000 to 9999) at the start of the text.
+	 * @return year, month and day packed as {@code year << 9 | month << 5 | day}
+	 */
+	static int parseDate(char[] text, int offset, int length) {
+		if (length < 10 || text[offset + 4] != '-' || text[offset + 7] != '-') {
+			return -1;
+		}
+		int century = parseDigits2(text, offset);
+		int yearOfCentury = parseDigits2(text, offset + 2);
+		int month = parseDigits2(text, offset + 5);
+		int day = parseDigits2(text, offset + 8);
+		if ((century | yearOfCentury | month | day) < 0) {
+			return -1;
+		}
+		int year = century * 100 + yearOfCentury;
+		if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+			return -1;
+		}
+		return (year << 9) | (month << 5) | day;
+	}
+
+	/**
+	 * Parses "THH:mm:ss" following the date.
+	 * @return the second of the day
+	 */
+	static int parseTime(char[] text, int offset, int length) {
+		if (length < 20 || text[offset + 10] != 'T' || text[offset + 13] != ':' || text[offset + 16] != ':') {
+			return -1;
+		}
+		int hour = parseDigits2(text, offset + 11);
+		int minute = parseDigits2(text, offset + 14);
+		int second = parseDigits2(text, offset + 17);
+		if ((hour | minute | second) < 0 || hour > 23 || minute > 59 || second > 59) {
+			return -1;
+		}
+		return hour * 3600 + minute * 60 + second;
+	}
+
+	/**
+	 * Skips the optional ".SSSSSSSSS" (1 to 9 digits) following the time.
+	 * @return the index of the zone offset
+	 */
+	static int endOfFraction(char[] text, int offset, int length) {
+		int i = offset + 19;
+		if (text[i] != '.') {
+			return i;
+		}
+		int end = Math.min(offset + length, i + 10);
+		int start = ++i;
+		while (i < end && isDigit(text[i])) {
+			i++;
+		}
+		return (i == start) ? -1 : i;
+	}
+
+	/**
+	 * @param zone the index returned by {@link #endOfFraction}
+	 */
+	static int parseNanos(char[] text, int offset, int zone) {
+		int nanos = 0;
+		int i = offset + 20;
+		for (; i < zone; i++) {
+			nanos = nanos * 10 + (text[i] - '0');
+		}
+		for (; i < offset + 29; i++) {
+			nanos *= 10;
+		}
+		return nanos;
+	}
+
+	/**
+	 * Parses "Z" or "+HH:mm" / "-HH:mm" up to the end of the text.
+	 * @return the offset in seconds, or {@code Integer.MIN_VALUE} (as offsets may
+	 * be negative)
+	 */
+	static int parseOffset(char[] text, int start, int end) {
+		if (end - start == 1) {
+			return (text[start] == 'Z') ? 0 : Integer.MIN_VALUE;
+		}
+		if (end - start != 6) {
+			return Integer.MIN_VALUE;
+		}
+		char sign = text[start];
+		if ((sign != '+' && sign != '-') || text[start + 3] != ':') {
+			return Integer.MIN_VALUE;
+		}
+		int hours = parseDigits2(text, start + 1);
+		int minutes = parseDigits2(text, start + 4);
+		if ((hours | minutes) < 0 || hours > 17 || minutes > 59) {
+			return Integer.MIN_VALUE;
+		}
+		int seconds = hours * 3600 + minutes * 60;
+		return (sign == '-') ? -seconds : seconds;
+	}
+
+	private static int parseDigits2(char[] text, int offset) {
+		char c1 = text[offset];
+		char c2 = text[offset + 1];
+		if (!isDigit(c1) || !isDigit(c2)) {
+			return -1;
+		}
+		return (c1 - '0') * 10 + (c2 - '0');
+	}
+
+	private static long parseHex(char[] text, int offset, int count) {
+		long value = 0;
+		for (int i = offset, end = offset + count; i < end; i++) {
+			char c = text[i];
+			int digit = (c < 128) ? HEX_VALUES[c] : -1;
+			if (digit < 0) {
+				return -1;
+			}
+			value = (value << 4) | digit;
+		}
+		return value;
+	}
+
+	private static boolean isDigit(char c) {
+		return (c >= '0' && c <= '9');
+	}
+
+	private static int lengthOfMonth(int year, int month) {
+		switch (month) {
+			case 2:
+				return isLeapYear(year) ? 29 : 28;
+			case 4:
+			case 6:
+			case 9:
+			case 11:
+				return 30;
+			default:
+				return 31;
+		}
+	}
+
+	private static boolean isLeapYear(int year) {
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+	}
+
+	/**
+	 * Same computation as {@link LocalDate#toEpochDay()}, for non-negative years.
+	 * @param date as returned by {@link #parseDate}
+	 */
+	private static long epochDay(int date) {
+		int year = date >> 9;
+		int month = (date >> 5) & 0xF;
+		int day = date & 0x1F;
+		long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+		total += (367 * month - 362) / 12 + day - 1;
+		if (month > 2) {
+			total -= isLeapYear(year) ? 1 : 2;
+		}
+		return total - DAYS_0000_TO_1970;
+	}
+
+}
@@ -0,0 +1,54 @@
+package reactivejson;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.EnumDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Registers deserializers for {@link Instant}, {@link OffsetDateTime},
+ * {@link LocalDate}, {@link UUID} and enums that decode values in their canonical
+ * form from the parser's text characters, without creating a {@link String} and
+ * parsing it again: ISO-8601 timestamps ("2026-10-17T12:34:56.789Z", with an
+ * optional fraction of up to 9 digits and a "Z" or, except for {@link Instant},
+ * "+HH:mm" offset), ISO-8601
+ * dates, "8-4-4-4-12" UUIDs and the plain names of enums. Other forms of these
+ * values are still accepted as before.
+ *
+ * <p>Enums with a custom deserializer or a {@code @JsonCreator} keep theirs. Note
+ * that the time types are read from Strings only, not from numeric timestamps.
+ */
+public class ScalarsModule extends SimpleModule {
+
+	private static final long serialVersionUID = 1L;
+
+	public ScalarsModule() {
+		super(ScalarsModule.class.getSimpleName());
+		addDeserializer(Instant.class, ScalarDeserializers.InstantDeserializer.INSTANCE);
+		addDeserializer(OffsetDateTime.class, ScalarDeserializers.OffsetDateTimeDeserializer.INSTANCE);
+		addDeserializer(LocalDate.class, ScalarDeserializers.LocalDateDeserializer.INSTANCE);
+		addDeserializer(UUID.class, ScalarDeserializers.UuidDeserializer.INSTANCE);
+		setDeserializerModifier(new BeanDeserializerModifier() {
+			@Override
+			public JsonDeserializer<?> modifyEnumDeserializer(DeserializationConfig config,
+					JavaType type, BeanDescription beanDesc, JsonDeserializer<?> deserializer) {
+
+				if (deserializer.getClass() != EnumDeserializer.class) {
+					return deserializer;
+				}
+				return new EnumTrieDeserializer((EnumDeserializer) deserializer,
+						config.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS));
+			}
+		});
+	}
+
+}
@@ -16,12 +16,16 @@
 
 package reactivejson;
 
-import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.core.async_.JsonFactory;
+import com.fasterxml.jackson.core.async_.NonBlockingJsonParser;
+import com.fasterxml.jackson.core.async_.StrictNonBlockingJsonParser;
 import com.fasterxml.jackson.databind.util.TokenBuffer;
 
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -34,13 +38,47 @@ import java.util.List;
  *
  * Copied from Spring's Jackson2Tokenizer
  *
+ * <p>Optionally, Object (or root-level Array) elements are not tokenized at all, but
+ * just scanned for their end and handed out as raw bytes, so that they can be
+ * bound with a regular blocking parser: as a slice of the input chunk if the element
+ * lies within it, otherwise as a copy of its bytes collected from the chunks.
+ *
+ * <p>Optionally too, elements that are not handed out as bytes but are complete in
+ * current input are not copied into a {@link TokenBuffer} either: they are handed out
+ * as a view of the parser itself, bounded to the element, so that they are bound
+ * while being tokenized. Elements that span input chunks still take the token path.
  */
-class Tokenizer {
+class Tokenizer implements Closeable {
+
+	/**
+	 * Receives elements as the tokenizer completes them
+	 */
+	interface ElementHandler {
+
+		void tokens(TokenBuffer tokenBuffer) throws IOException;
 
-	private final JsonParser parser;
+		/**
+		 * @param bytes bytes of a complete JSON Object or Array; only valid during the call
+		 */
+		void bytes(ByteBuffer bytes) throws IOException;
+
+		/**
+		 * @param parser at the first token of a complete element, returning {@code null}
+		 * after its last one; only valid during the call
+		 */
+		void parser(JsonParser parser) throws IOException;
+	}
+
+	private final JsonFactory jsonFactory;
+
+	private final NonBlockingJsonParser parser;
 
 	private final boolean tokenizeArrayElements;
 
+	private final boolean elementsAsBytes;
+
+	private final ElementParser elementParser;
+
 	private TokenBuffer tokenBuffer;
 
 	private int objectDepth;
@@ -49,26 +87,95 @@ class Tokenizer {
 
 	private final ByteBufferFeeder inputFeeder;
 
+	private boolean closed;
+
+	/**
+	 * Current input chunk, with position and limit as when fed
+	 */
+	private ByteBuffer chunk = ByteBuffer.allocate(0);
+
+	/**
+	 * Total number of input bytes before current chunk
+	 */
+	private long chunkOffset;
+
+	/**
+	 * Bytes of element that started in an earlier chunk and is not complete yet, if any
+	 */
+	private ByteArrayOutputStream elementBytes;
+
 	public Tokenizer(JsonFactory jsonFactory, boolean tokenizeArrayElements) throws IOException {
-		this.parser = jsonFactory.createNonBlockingByteArrayParser();
+		this(jsonFactory, tokenizeArrayElements, false, false);
+	}
+
+	/**
+	 * @param elementsAsBytes whether to hand out Object (and root-level Array) elements
+	 * as bytes; only done if parser has no features for non-standard content enabled,
+	 * as those can not be skipped by scanning
+	 * @param elementsAsParser whether to hand out other elements that are complete in
+	 * current input as a view of the parser, rather than as tokens
+	 */
+	public Tokenizer(JsonFactory jsonFactory, boolean tokenizeArrayElements, boolean elementsAsBytes,
+			boolean elementsAsParser) throws IOException {
+		this.jsonFactory = jsonFactory;
+		this.parser = jsonFactory.acquireNonBlockingParser();
 		this.tokenizeArrayElements = tokenizeArrayElements;
+		this.elementsAsBytes = elementsAsBytes &&
+				(this.parser.getFeatureMask() & StrictNonBlockingJsonParser.LENIENT_FEATURES) == 0;
+		this.elementParser = elementsAsParser ? new ElementParser(this.parser) : null;
 		this.tokenBuffer = new TokenBuffer(parser);
 		this.inputFeeder = (ByteBufferFeeder) this.parser.getNonBlockingInputFeeder();
 	}
 
 	public List<TokenBuffer> tokenize(ByteBuffer byteBuffer) throws IOException {
-		inputFeeder.feedInput(byteBuffer);
-		return parse();
+		List<TokenBuffer> result = new ArrayList<>();
+		tokenize(byteBuffer, collector(result));
+		return result;
 	}
 
 	public List<TokenBuffer> endOfInput() throws IOException {
+		List<TokenBuffer> result = new ArrayList<>();
+		endOfInput(collector(result));
+		return result;
+	}
+
+	public void tokenize(ByteBuffer byteBuffer, ElementHandler handler) throws IOException {
+		checkNotClosed();
+		inputFeeder.feedInput(byteBuffer);
+		this.chunkOffset += this.chunk.remaining();
+		this.chunk = byteBuffer.duplicate();
+		parse(handler);
+	}
+
+	public void endOfInput(ElementHandler handler) throws IOException {
+		checkNotClosed();
 		inputFeeder.endOfInput();
-		return parse();
+		this.chunkOffset += this.chunk.remaining();
+		this.chunk = ByteBuffer.allocate(0);
+		parse(handler);
 	}
 
-	private List<TokenBuffer> parse() throws IOException {
-		List<TokenBuffer> result = new ArrayList<>();
+	/**
+	 * Hands the parser back to the factory for reuse; tokenizer can not be used after this.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!this.closed) {
+			this.closed = true;
+			this.jsonFactory.releaseNonBlockingParser(this.parser);
+		}
+	}
+
+	private void checkNotClosed() throws IOException {
+		if (this.closed) {
+			throw new IOException("Tokenizer has been closed");
+		}
+	}
 
+	private void parse(ElementHandler handler) throws IOException {
+		if (this.elementBytes != null && !finishElementBytes(handler)) {
+			return;
+		}
 		while (true) {
 			JsonToken token = this.parser.nextToken();
 			// SPR-16151: Smile data format uses null to separate documents
@@ -78,14 +185,25 @@ class Tokenizer {
 			}
 			updateDepth(token);
 
-			if (!this.tokenizeArrayElements) {
-				processTokenNormal(token, result);
+			if (this.elementsAsBytes && isElementStart(token)) {
+				if (!skipElement(handler)) {
+					break;
+				}
+			}
+			else if (this.elementParser != null && isCompleteElement(token)) {
+				handler.parser(this.elementParser.start());
+				this.elementParser.finish();
+				if (token.isStructStart()) {
+					updateDepth(this.parser.currentToken());
+				}
+			}
+			else if (!this.tokenizeArrayElements) {
+				processTokenNormal(token, handler);
 			}
 			else {
-				processTokenArray(token, result);
+				processTokenArray(token, handler);
 			}
 		}
-		return result;
 	}
 
 	private void updateDepth(JsonToken token) {
@@ -105,27 +223,45 @@ class Tokenizer {
 		}
 	}
 
-	private void processTokenNormal(JsonToken token, List<TokenBuffer> result) throws IOException {
-		this.tokenBuffer.copyCurrentEvent(this.parser);
+	private void processTokenNormal(JsonToken token, ElementHandler handler) throws IOException {
+		copyCurrentEvent(token);
 
 		if ((token.isStructEnd() || token.isScalarValue()) &&
 				this.objectDepth == 0 && this.arrayDepth == 0) {
-			result.add(this.tokenBuffer);
+			TokenBuffer complete = this.tokenBuffer;
 			this.tokenBuffer = new TokenBuffer(this.parser);
+			handler.tokens(complete);
 		}
 
 	}
 
-	private void processTokenArray(JsonToken token, List<TokenBuffer> result) throws IOException {
+	private void processTokenArray(JsonToken token, ElementHandler handler) throws IOException {
 		if (!isTopLevelArrayToken(token)) {
-			this.tokenBuffer.copyCurrentEvent(this.parser);
+			copyCurrentEvent(token);
 		}
 
 		if (this.objectDepth == 0 &&
 				(this.arrayDepth == 0 || this.arrayDepth == 1) &&
 				(token == JsonToken.END_OBJECT || token.isScalarValue())) {
-			result.add(this.tokenBuffer);
+			TokenBuffer complete = this.tokenBuffer;
 			this.tokenBuffer = new TokenBuffer(this.parser);
+			handler.tokens(complete);
+		}
+	}
+
+	/**
+	 * Plain ASCII String values are kept as the bytes they were parsed from,
+	 * rather than decoded into a String that may never be asked for.
+	 */
+	private void copyCurrentEvent(JsonToken token) throws IOException {
+		if (token == JsonToken.VALUE_STRING && this.parser.isRawTextAscii()) {
+			ByteBuffer raw = this.parser.getRawTextBytes();
+			byte[] bytes = new byte[raw.remaining()];
+			raw.get(bytes);
+			this.tokenBuffer.writeString(new AsciiString(bytes));
+		}
+		else {
+			this.tokenBuffer.copyCurrentEvent(this.parser);
 		}
 	}
 
@@ -134,4 +270,109 @@ class Tokenizer {
 				(token == JsonToken.END_ARRAY && this.arrayDepth == 0));
 	}
 
+	/**
+	 * Whether given token, depth already updated, starts an element that is to be
+	 * handed out as bytes: a root-level Object or Array, or (when tokenizing array
+	 * elements) an Object within the root-level Array.
+	 */
+	private boolean isElementStart(JsonToken token) {
+		if (this.tokenBuffer.firstToken() != null) {
+			return false;
+		}
+		if (!this.tokenizeArrayElements) {
+			return token.isStructStart() && this.objectDepth + this.arrayDepth == 1;
+		}
+		return token == JsonToken.START_OBJECT && this.objectDepth == 1 && this.arrayDepth <= 1;
+	}
+
+	/**
+	 * Whether given token, depth already updated, starts an element that can be
+	 * handed out as a view of the parser: a scalar element, or one that
+	 * {@link #isElementStart starts} an Object or Array that ends within current input.
+	 */
+	private boolean isCompleteElement(JsonToken token) {
+		if (token.isScalarValue()) {
+			return this.tokenBuffer.firstToken() == null && this.objectDepth == 0 &&
+					this.arrayDepth <= (this.tokenizeArrayElements ? 1 : 0);
+		}
+		return isElementStart(token) && this.parser.isStructureComplete();
+	}
+
+	/**
+	 * Skips element the parser is at the start of; hands it out if it ends within
+	 * current chunk, otherwise starts collecting its bytes.
+	 * @return whether element was complete
+	 */
+	private boolean skipElement(ElementHandler handler) throws IOException {
+		// parser is right after the start marker
+		long start = this.parser.getCurrentLocation().getByteOffset() - 1;
+		this.parser.skipChildren();
+		JsonToken token = this.parser.currentToken();
+		if (token == JsonToken.NOT_AVAILABLE) {
+			this.elementBytes = new ByteArrayOutputStream();
+			copyChunk(start, this.chunkOffset + this.chunk.remaining());
+			return false;
+		}
+		updateDepth(token);
+		handler.bytes(sliceChunk(start, this.parser.getCurrentLocation().getByteOffset()));
+		return true;
+	}
+
+	/**
+	 * Continues skipping element whose bytes are being collected, with next chunk.
+	 * @return whether element was completed (and handed out)
+	 */
+	private boolean finishElementBytes(ElementHandler handler) throws IOException {
+		JsonToken token = this.parser.nextToken();
+		if (token == JsonToken.NOT_AVAILABLE) {
+			copyChunk(this.chunkOffset, this.chunkOffset + this.chunk.remaining());
+			return false;
+		}
+		updateDepth(token);
+		copyChunk(this.chunkOffset, this.parser.getCurrentLocation().getByteOffset());
+		byte[] bytes = this.elementBytes.toByteArray();
+		this.elementBytes = null;
+		handler.bytes(ByteBuffer.wrap(bytes));
+		return true;
+	}
+
+	private ByteBuffer sliceChunk(long start, long end) {
+		ByteBuffer slice = this.chunk.duplicate();
+		int position = slice.position();
+		slice.limit(position + (int) (end - this.chunkOffset));
+		slice.position(position + (int) (start - this.chunkOffset));
+		return slice;
+	}
+
+	private void copyChunk(long start, long end) {
+		ByteBuffer slice = sliceChunk(start, end);
+		if (slice.hasArray()) {
+			this.elementBytes.write(slice.array(), slice.arrayOffset() + slice.position(), slice.remaining());
+		}
+		else {
+			byte[] bytes = new byte[slice.remaining()];
+			slice.get(bytes);
+			this.elementBytes.write(bytes, 0, bytes.length);
+		}
+	}
+
+	private static ElementHandler collector(List<TokenBuffer> result) {
+		return new ElementHandler() {
+			@Override
+			public void tokens(TokenBuffer tokenBuffer) {
+				result.add(tokenBuffer);
+			}
+
+			@Override
+			public void bytes(ByteBuffer bytes) {
+				throw new IllegalStateException("Elements are handed out as bytes, use tokenize(ByteBuffer, ElementHandler)");
+			}
+
+			@Override
+			public void parser(JsonParser parser) {
+				throw new IllegalStateException("Elements are handed out as parser, use tokenize(ByteBuffer, ElementHandler)");
+			}
+		};
+	}
+
 }
@@ -0,0 +1,93 @@
+package com.fasterxml.jackson.core.async_;
+
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentBufferRecyclerTest {
+
+	@Test
+	public void shouldRecycleReleasedBuffers() {
+		ConcurrentBufferRecycler recycler = new ConcurrentBufferRecycler(2);
+
+		char[] chars = recycler.allocCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER);
+		byte[] bytes = recycler.allocByteBuffer(BufferRecycler.BYTE_READ_IO_BUFFER);
+		recycler.releaseCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER, chars);
+		recycler.releaseByteBuffer(BufferRecycler.BYTE_READ_IO_BUFFER, bytes);
+
+		assertThat(recycler.allocCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER)).isSameAs(chars);
+		assertThat(recycler.allocByteBuffer(BufferRecycler.BYTE_READ_IO_BUFFER)).isSameAs(bytes);
+		// only buffers of the same type are recycled
+		recycler.releaseCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER, chars);
+		assertThat(recycler.allocCharBuffer(BufferRecycler.CHAR_NAME_COPY_BUFFER)).isNotSameAs(chars);
+	}
+
+	@Test
+	public void shouldNotHandOutTooSmallBuffers() {
+		ConcurrentBufferRecycler recycler = new ConcurrentBufferRecycler(2);
+		char[] chars = recycler.allocCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER);
+		recycler.releaseCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER, chars);
+
+		char[] bigger = recycler.allocCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER, chars.length + 1);
+		assertThat(bigger).isNotSameAs(chars);
+		assertThat(bigger.length).isGreaterThan(chars.length);
+	}
+
+	@Test
+	public void shouldKeepBoundedNumberOfBuffers() {
+		ConcurrentBufferRecycler recycler = new ConcurrentBufferRecycler(2);
+		char[][] buffers = new char[3][];
+		for (int i = 0; i < buffers.length; i++) {
+			buffers[i] = recycler.allocCharBuffer(BufferRecycler.CHAR_TOKEN_BUFFER);
+		}
+		for (char[] buffer : buffers) {
+			recycler.releaseCharBuffer(BufferRecycler.CHAR_TOKEN_BUFFER, buffer);
+		}
+		Set<char[]> reused = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (int i = 0; i < buffers.length; i++) {
+			reused.add(recycler.allocCharBuffer(BufferRecycler.CHAR_TOKEN_BUFFER));
+		}
+		reused.retainAll(Arrays.asList(buffers));
+		assertThat(reused).hasSize(2);
+	}
+
+	@Test
+	public void shouldNeverHandOutSameBufferTwice() throws Exception {
+		ConcurrentBufferRecycler recycler = new ConcurrentBufferRecycler(4);
+		Set<char[]> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+		AtomicBoolean duplicate = new AtomicBoolean();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			Future<?>[] futures = new Future<?>[8];
+			for (int t = 0; t < futures.length; t++) {
+				futures[t] = executor.submit(() -> {
+					for (int i = 0; i < 20000; i++) {
+						char[] buffer = recycler.allocCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER);
+						if (!inUse.add(buffer)) {
+							duplicate.set(true);
+						}
+						inUse.remove(buffer);
+						recycler.releaseCharBuffer(BufferRecycler.CHAR_TEXT_BUFFER, buffer);
+					}
+				});
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertThat(duplicate).isFalse();
+	}
+}
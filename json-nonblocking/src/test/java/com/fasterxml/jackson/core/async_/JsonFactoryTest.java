@@ -0,0 +1,215 @@
+package com.fasterxml.jackson.core.async_;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonFactoryTest {
+
+	private static final List<String> NAMES = Arrays.asList(
+			"id", "name", "four", "fiveC", "exactly8", "aLongerFieldNameSpanningQuads", "été", "");
+
+	private final SymbolCountingJsonFactory jsonFactory = new SymbolCountingJsonFactory();
+
+	@Test
+	public void shouldSeedFieldNames() {
+		jsonFactory.seedFieldNames(NAMES);
+		assertThat(jsonFactory.symbolCount()).isEqualTo(NAMES.size() - 1);
+
+		jsonFactory.seedFieldNames(NAMES);
+		assertThat(jsonFactory.symbolCount()).isEqualTo(NAMES.size() - 1);
+	}
+
+	@Test
+	public void shouldFindSeededNamesWhenParsing() throws IOException {
+		jsonFactory.seedFieldNames(NAMES);
+
+		assertThat(parseFieldNames(jsonFactory, NAMES)).containsExactlyElementsOf(NAMES);
+		// nothing new to merge back: all names were found in seeded table
+		assertThat(jsonFactory.symbolCount()).isEqualTo(NAMES.size() - 1);
+	}
+
+	@Test
+	public void shouldSeedAllStripes() throws IOException {
+		jsonFactory.setSymbolTableStripes(3, 0, TimeUnit.SECONDS).seedFieldNames(NAMES);
+
+		SymbolTableStripes.Stripe[] stripes = jsonFactory._symbolTableStripes.all();
+		assertThat(stripes).hasSize(4);
+		for (SymbolTableStripes.Stripe stripe : stripes) {
+			assertThat(stripe.makeChild(0).size()).isEqualTo(NAMES.size() - 1);
+		}
+		assertThat(parseFieldNames(jsonFactory, NAMES)).containsExactlyElementsOf(NAMES);
+	}
+
+	@Test
+	public void shouldThrottleMergesIntoStripe() throws IOException {
+		jsonFactory.setSymbolTableStripes(1, 1, TimeUnit.HOURS);
+		SymbolTableStripes.Stripe stripe = jsonFactory._symbolTableStripes.current();
+
+		parseFieldNames(jsonFactory, Arrays.asList("a", "b"));
+		assertThat(stripe.makeChild(0).size()).isEqualTo(2);
+
+		parseFieldNames(jsonFactory, Arrays.asList("c", "d", "e"));
+		assertThat(stripe.makeChild(0).size()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldNotMergeSmallerTables() throws IOException {
+		JsonParser bigger = jsonFactory.createNonBlockingByteArrayParser();
+		JsonParser smaller = jsonFactory.createNonBlockingByteArrayParser();
+		parseFieldNames(bigger, Arrays.asList("a", "b", "c"));
+		parseFieldNames(smaller, Arrays.asList("d"));
+		assertThat(jsonFactory.symbolCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldReuseReleasedParsers() throws IOException {
+		NonBlockingJsonParser parser = jsonFactory.acquireNonBlockingParser();
+		// released in the middle of a token
+		parser.feedInput(ByteBuffer.wrap("{\"id\":1,\"na".getBytes(StandardCharsets.UTF_8)));
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+		jsonFactory.releaseNonBlockingParser(parser);
+
+		NonBlockingJsonParser reused = jsonFactory.acquireNonBlockingParser();
+		assertThat(reused).isSameAs(parser);
+		assertThat(parseFieldNames(reused, Arrays.asList("name", "id"))).containsExactly("name", "id");
+		assertThat(reused.isClosed()).isTrue();
+
+		// also once closed at end of input
+		jsonFactory.releaseNonBlockingParser(reused);
+		assertThat(parseFieldNames(jsonFactory.acquireNonBlockingParser(), Arrays.asList("x"))).containsExactly("x");
+	}
+
+	@Test
+	public void shouldMergeNamesOfPooledParsers() throws IOException {
+		NonBlockingJsonParser parser = jsonFactory.acquireNonBlockingParser();
+		parser.feedInput(ByteBuffer.wrap("{\"alpha\":1,\"beta\":2,\"gam".getBytes(StandardCharsets.UTF_8)));
+		while (parser.nextToken() != JsonToken.NOT_AVAILABLE) {
+		}
+		jsonFactory.releaseNonBlockingParser(parser);
+		assertThat(jsonFactory.symbolCount()).isEqualTo(2);
+
+		NonBlockingJsonParser reused = jsonFactory.acquireNonBlockingParser();
+		assertThat(reused).isSameAs(parser);
+		reused.feedInput(ByteBuffer.wrap("{\"alpha\":1,\"delta\":2,".getBytes(StandardCharsets.UTF_8)));
+		while (reused.nextToken() != JsonToken.NOT_AVAILABLE) {
+		}
+		jsonFactory.releaseNonBlockingParser(reused);
+		assertThat(jsonFactory.symbolCount()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldResetNameStatistics() throws IOException {
+		List<String> oneOffNames = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			oneOffNames.add("user-" + Integer.toHexString(i * 7919));
+		}
+		NonBlockingJsonParser parser = jsonFactory.acquireNonBlockingParser();
+		parseFieldNames(parser, oneOffNames);
+		assertThat(parser._floodedLevels).isEqualTo(1 << 1);
+		assertThat(parser._namesInWindow).isPositive();
+		assertThat(parser._nameMisses).isNotNull();
+
+		parser.reset();
+		// table still has the one-off names added before flooding was detected
+		assertThat(parser._floodedLevels).isEqualTo(1 << 1);
+		assertThat(parser._namesInWindow).isZero();
+		assertThat(parser._nameMisses).containsOnly(0);
+		assertThat(parser._addedNameCount).isZero();
+	}
+
+	@Test
+	public void shouldRestoreFeaturesOfReleasedParsers() throws IOException {
+		NonBlockingJsonParser parser = jsonFactory.acquireNonBlockingParser();
+		assertThat(parser).isInstanceOf(StrictNonBlockingJsonParser.class);
+		parser.enable(JsonParser.Feature.ALLOW_SINGLE_QUOTES);
+		assertThat(parseTexts(parser, "['x']")).containsExactly("x");
+		jsonFactory.releaseNonBlockingParser(parser);
+
+		NonBlockingJsonParser reused = jsonFactory.acquireNonBlockingParser();
+		assertThat(reused).isSameAs(parser);
+		assertThat(reused.isEnabled(JsonParser.Feature.ALLOW_SINGLE_QUOTES)).isFalse();
+		assertThatThrownBy(() -> parseTexts(reused, "['leaked']"))
+				.isInstanceOf(JsonParseException.class);
+
+		// not pooled once factory features no longer match
+		jsonFactory.releaseNonBlockingParser(reused);
+		NonBlockingJsonParser strict = jsonFactory.acquireNonBlockingParser();
+		jsonFactory.enable(JsonParser.Feature.ALLOW_SINGLE_QUOTES);
+		jsonFactory.releaseNonBlockingParser(strict);
+		assertThat(strict.isClosed()).isTrue();
+		NonBlockingJsonParser lenient = jsonFactory.acquireNonBlockingParser();
+		assertThat(lenient).isNotInstanceOf(StrictNonBlockingJsonParser.class);
+		assertThat(parseTexts(lenient, "['single']")).containsExactly("single");
+	}
+
+	@Test
+	public void shouldNotPoolBeyondMaxSize() throws IOException {
+		jsonFactory.setNonBlockingParserPoolSize(1);
+		NonBlockingJsonParser first = jsonFactory.acquireNonBlockingParser();
+		NonBlockingJsonParser second = jsonFactory.acquireNonBlockingParser();
+		jsonFactory.releaseNonBlockingParser(first);
+		jsonFactory.releaseNonBlockingParser(second);
+
+		assertThat(second.isClosed()).isTrue();
+		assertThat(jsonFactory.acquireNonBlockingParser()).isSameAs(first);
+		assertThat(jsonFactory.acquireNonBlockingParser()).isNotIn(first, second);
+	}
+
+	private static List<String> parseFieldNames(JsonFactory jsonFactory, List<String> fieldNames) throws IOException {
+		return parseFieldNames(jsonFactory.createNonBlockingByteArrayParser(), fieldNames);
+	}
+
+	private static List<String> parseFieldNames(JsonParser parser, List<String> fieldNames) throws IOException {
+		StringBuilder json = new StringBuilder("{");
+		for (String name : fieldNames) {
+			json.append(json.length() > 1 ? "," : "").append('"').append(name).append("\":1");
+		}
+		ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+		feeder.feedInput(ByteBuffer.wrap(json.append('}').toString().getBytes(StandardCharsets.UTF_8)));
+		feeder.endOfInput();
+		List<String> names = new ArrayList<>();
+		JsonToken token;
+		while ((token = parser.nextToken()) != null) {
+			if (token == JsonToken.FIELD_NAME) {
+				names.add(parser.getCurrentName());
+			}
+		}
+		parser.close();
+		return names;
+	}
+
+	private static List<String> parseTexts(JsonParser parser, String json) throws IOException {
+		ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+		feeder.feedInput(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+		feeder.endOfInput();
+		List<String> texts = new ArrayList<>();
+		JsonToken token;
+		while ((token = parser.nextToken()) != null) {
+			if (token == JsonToken.VALUE_STRING) {
+				texts.add(parser.getText());
+			}
+		}
+		return texts;
+	}
+
+	private static class SymbolCountingJsonFactory extends JsonFactory {
+
+		int symbolCount() {
+			return _byteSymbolCanonicalizer.size();
+		}
+	}
+}
@@ -0,0 +1,771 @@
+package com.fasterxml.jackson.core.async_;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.core.io.SerializedString;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class NonBlockingJsonParserTest {
+
+	private static final String DOCUMENT = "{\"id\":1,\"name\":\"Robert\",\"description\":\"plain ascii text that is long enough to span chunks\"," +
+			"\"veryLongFieldNameThatDoesNotFitQuads\":[1,-2,0,-0.5,3.25e10,1E-3,12345678901,-98765432109876543210]," +
+			"\"numbers\":[2147483647,-2147483648,2147483648,-2147483649,123456789012345678,-1234567890123456789," +
+			"-0.0,0.1,0.000001234,123456.789e-5,1.0E+2,1e22,1e23,9007199254740993.0,1.7976931348623157e308,4.9e-324]," +
+			"\"flags\":[true,false,null],\"esc\":\"tab\\tquote\\\"slash\\\\u\\u00e9\\u20ac\",\n" +
+			"  \"utf8\":\"café € 😀 中文\",\"été\":{\"nested\":{}},\"e\":[],\"s\":\"\"}";
+
+	private final JsonFactory jsonFactory = new JsonFactory();
+
+	@Test
+	public void shouldParseHeapBuffersInChunks() throws IOException {
+		assertChunkedParsing(ByteBuffer::wrap);
+	}
+
+	@Test
+	public void shouldParseDirectBuffersInChunks() throws IOException {
+		assertChunkedParsing(bytes -> {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+			buffer.put(bytes);
+			buffer.flip();
+			return buffer;
+		});
+	}
+
+	@Test
+	public void shouldParseHeapBufferSlicesWithArrayOffset() throws IOException {
+		assertChunkedParsing(bytes -> {
+			byte[] padded = new byte[bytes.length + 7];
+			System.arraycopy(bytes, 0, padded, 3, bytes.length);
+			ByteBuffer buffer = ByteBuffer.wrap(padded, 3, bytes.length).slice();
+			assertThat(buffer.arrayOffset()).isEqualTo(3);
+			return buffer;
+		});
+	}
+
+	@Test
+	public void shouldReleaseBufferedInput() throws IOException {
+		JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
+		((ByteBufferFeeder) parser.getNonBlockingInputFeeder())
+				.feedInput(ByteBuffer.wrap("xx{\"a\":1} {\"b\":2}".getBytes(StandardCharsets.UTF_8), 2, 14));
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.FIELD_NAME);
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_NUMBER_INT);
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.END_OBJECT);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertThat(parser.releaseBuffered(out)).isEqualTo(7);
+		assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(" {\"b\":2");
+	}
+
+	@Test
+	public void shouldStopAddingHighCardinalityNames() throws IOException {
+		StringBuilder json = new StringBuilder("{");
+		for (int i = 0; i < 2000; i++) {
+			json.append(i == 0 ? "" : ",").append("\"user-").append(Integer.toHexString(i * 7919))
+					.append(i % 3 == 0 ? "-é" : "").append("\":{\"id\":").append(i).append(",\"name\":\"n\"}");
+		}
+		byte[] bytes = json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+		SymbolCountingJsonFactory symbolCountingFactory = new SymbolCountingJsonFactory();
+
+		JsonParser parser = symbolCountingFactory.createNonBlockingByteArrayParser();
+		assertThat(nonBlockingTokens(parser, bytes, 100, ByteBuffer::wrap)).containsExactlyElementsOf(blockingTokens(bytes));
+		parser.close();
+		// one-off names are not merged into factory table, but names of other levels are
+		assertThat(symbolCountingFactory.symbolCount()).isEqualTo(2);
+		JsonParser next = symbolCountingFactory.createNonBlockingByteArrayParser();
+		byte[] schema = "{\"id\":1,\"name\":\"n\"}".getBytes(StandardCharsets.UTF_8);
+		assertThat(nonBlockingTokens(next, schema, 100, ByteBuffer::wrap)).containsExactlyElementsOf(blockingTokens(schema));
+		next.close();
+		assertThat(symbolCountingFactory.symbolCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldParseStrictJsonSameAsGeneralParser() throws IOException {
+		List<String> documents = Arrays.asList(DOCUMENT, "[1 , 2,{ } , [ ]]", "{\"a\":}", "{\"a\" 1}", "{\"a\":1 \"b\":2}",
+				"[1 2]", "[1,]", "{\"a\":1,}", "[1}", "{\"a\":1]", "{\"a\":]", "/* c */ [1]", "[1, // c\n2]", "[1 # c\n]",
+				"[01]", "{'a':1}", "['a']", "[NaN]", "[+1]", "{a:1}", "[1,,2]", "[,]", "{,}", "{\"a\":1,,}", "[\"\t\"]", "[\"\\q\"]");
+		JsonFactory lenientFactory = new JsonFactory();
+		lenientFactory.enable(JsonParser.Feature.ALLOW_TRAILING_COMMA);
+		for (String document : documents) {
+			byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+			for (int chunkSize : new int[] { 1, 2, bytes.length }) {
+				JsonParser strict = jsonFactory.createNonBlockingByteArrayParser();
+				JsonParser general = lenientFactory.createNonBlockingByteArrayParser();
+				general.disable(JsonParser.Feature.ALLOW_TRAILING_COMMA);
+				assertThat(strict).isInstanceOf(StrictNonBlockingJsonParser.class);
+				assertThat(general).isNotInstanceOf(StrictNonBlockingJsonParser.class);
+				assertThat(tokensOrError(strict, bytes, chunkSize)).as("%s, chunk size %d", document, chunkSize)
+						.isEqualTo(tokensOrError(general, bytes, chunkSize));
+			}
+		}
+	}
+
+	@Test
+	public void shouldAllowFeaturesEnabledOnStrictParser() throws IOException {
+		byte[] bytes = "{\"a\":1 /* x */, \"b\": [2, # y\n 3,],}".getBytes(StandardCharsets.UTF_8);
+		for (int chunkSize : new int[] { 1, 3, bytes.length }) {
+			JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
+			assertThat(parser).isInstanceOf(StrictNonBlockingJsonParser.class);
+			parser.enable(JsonParser.Feature.ALLOW_COMMENTS);
+			parser.enable(JsonParser.Feature.ALLOW_YAML_COMMENTS);
+			parser.enable(JsonParser.Feature.ALLOW_TRAILING_COMMA);
+			assertThat(nonBlockingTokens(parser, bytes, chunkSize, ByteBuffer::wrap)).as("chunk size %d", chunkSize)
+					.containsExactly("START_OBJECT", "FIELD_NAME:a", "VALUE_NUMBER_INT:1=INT:1", "FIELD_NAME:b", "START_ARRAY",
+							"VALUE_NUMBER_INT:2=INT:2", "VALUE_NUMBER_INT:3=INT:3", "END_ARRAY", "END_OBJECT");
+		}
+	}
+
+	@Test
+	public void shouldDecodeNamesOfAnyLength() throws IOException {
+		StringBuilder json = new StringBuilder("{");
+		String alphabet = "abcdefghijklmnopqrstuvwxyz";
+		for (int length = 0; length <= 26; length++) {
+			String name = alphabet.substring(0, length);
+			json.append(length == 0 ? "" : ",").append('"').append(name).append("\":").append(length);
+			if (length > 0) {
+				int at = length / 2;
+				json.append(",\"").append(name, 0, at).append("\\u0041").append(name.substring(at)).append("\":0");
+				json.append(",\"").append(name, 0, at).append("é").append(name.substring(at)).append("\":1");
+				json.append(",\"").append(name, 0, at).append("\\\"").append(name.substring(at)).append("\":2");
+			}
+		}
+		byte[] bytes = json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+		List<String> expected = blockingTokens(bytes);
+		for (int chunkSize : new int[] { 1, 3, 5, 8, 13, 17, 100, bytes.length }) {
+			assertThat(nonBlockingTokens(bytes, chunkSize, ByteBuffer::wrap)).as("chunk size %d", chunkSize)
+					.containsExactlyElementsOf(expected);
+		}
+	}
+
+	@Test
+	public void shouldDecodeStringsInAsciiAndNonAsciiChunks() throws IOException {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < 40; i++) {
+			json.append(i == 0 ? "" : ",").append('"').append("abcdefghijklmnopqrstuvwxyz", 0, i % 27)
+					.append(i % 3 == 0 ? "\\n\\u00e9\\\"" : "").append(i % 10 == 0 ? "é€\uD83D\uDE00" : "").append('"');
+		}
+		byte[] bytes = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+		List<String> expected = blockingTokens(bytes);
+		for (int chunkSize : new int[] { 1, 2, 5, 8, 11, 64, bytes.length }) {
+			assertThat(nonBlockingTokens(bytes, chunkSize, ByteBuffer::wrap)).as("chunk size %d", chunkSize)
+					.containsExactlyElementsOf(expected);
+		}
+
+		byte[] control = "[\"a\u0000b\tc\"]".getBytes(StandardCharsets.UTF_8);
+		List<String> tokens = tokensOrError(jsonFactory.createNonBlockingByteArrayParser(), control, control.length);
+		assertThat(tokens.get(tokens.size() - 1)).startsWith("Illegal unquoted character");
+		JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
+		parser.enable(JsonParser.Feature.ALLOW_UNQUOTED_CONTROL_CHARS);
+		assertThat(nonBlockingTokens(parser, control, control.length, ByteBuffer::wrap))
+				.containsExactly("START_ARRAY", "VALUE_STRING:a\u0000b\tc", "END_ARRAY");
+	}
+
+	@Test
+	public void shouldDecodeRunsOfMultiByteCharactersAndEscapes() throws IOException {
+		String text = "日本語のテキスト\\n\\\"中文ü\\u00e9\\t한국어";
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < 30; i++) {
+			// shift runs against chunk boundaries
+			json.append(i == 0 ? "" : ",").append('"').append("xxxxxxxx", 0, i % 9).append(text).append('"');
+		}
+		byte[] bytes = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+		List<String> expected = blockingTokens(bytes);
+		for (int chunkSize : new int[] { 1, 2, 3, 4, 7, 16, 100, bytes.length }) {
+			assertThat(nonBlockingTokens(bytes, chunkSize, ByteBuffer::wrap)).as("chunk size %d", chunkSize)
+					.containsExactlyElementsOf(expected);
+		}
+
+		byte[] invalid = { '[', '"', (byte) 0xE6, (byte) 0x97, (byte) 0xA5, (byte) 0xE6, (byte) 0x97, 'x', '"', ',', '1', ',', '2', ',', '3', ']' };
+		List<String> tokens = tokensOrError(jsonFactory.createNonBlockingByteArrayParser(), invalid, invalid.length);
+		assertThat(tokens.get(tokens.size() - 1)).startsWith("Invalid UTF-8 middle byte 0x78");
+	}
+
+	@Test
+	public void shouldSkipIndentationAndMatchKeywords() throws IOException {
+		String[] indents = { "", " ", "  ", "        ", "                  ", "\t", "\t\t\t\t\t\t\t\t\t", "\t  " };
+		String[] values = { "true", "false", "null", "{}", "[ true ]", "\"x\"", "12" };
+		// (rows of CR and LF are counted separately, so not mixed within one document; and
+		// location of end markers is not updated, so only checked for other tokens)
+		for (String lineSeparator : new String[] { "\n", "\r\n", "\r" }) {
+			StringBuilder json = new StringBuilder("[");
+			for (int i = 0; i < 60; i++) {
+				json.append(i == 0 ? "" : ",").append(lineSeparator).append(indents[i % indents.length])
+						.append("{\"v\" : ").append(values[i % values.length]).append(", \"w\":")
+						.append(values[(i + 1) % values.length]).append("}");
+			}
+			byte[] bytes = json.append(lineSeparator).append("]").append(lineSeparator).toString()
+					.getBytes(StandardCharsets.UTF_8);
+			List<String> expected = new ArrayList<>();
+			try (JsonParser parser = new com.fasterxml.jackson.core.JsonFactory().createParser(bytes)) {
+				JsonToken token;
+				while ((token = parser.nextToken()) != null) {
+					expected.add(describe(parser, token) + (token.isStructEnd() ? "" : "@" + parser.getTokenLocation().getLineNr()));
+				}
+			}
+			for (int chunkSize : new int[] { 1, 3, 4, 5, 9, 16, 100, bytes.length }) {
+				List<String> tokens = nonBlockingTokens(jsonFactory.createNonBlockingByteArrayParser(), bytes, chunkSize,
+						ByteBuffer::wrap, (parser, token, described) -> described.add(describe(parser, token)
+								+ (token.isStructEnd() ? "" : "@" + parser.getTokenLocation().getLineNr())));
+				assertThat(tokens).as("%s, chunk size %d", lineSeparator, chunkSize).containsExactlyElementsOf(expected);
+			}
+		}
+
+		for (String document : Arrays.asList("[nul]", "[nulll]", "[tru ]", "[trux]", "[fals]", "[falsey]", "[nulL]")) {
+			byte[] invalid = document.getBytes(StandardCharsets.UTF_8);
+			for (int chunkSize : new int[] { 1, 2, invalid.length }) {
+				List<String> tokens = tokensOrError(jsonFactory.createNonBlockingByteArrayParser(), invalid, chunkSize);
+				assertThat(tokens.get(tokens.size() - 1)).as("%s, chunk size %d", document, chunkSize)
+						.startsWith("Unrecognized token");
+			}
+		}
+	}
+
+	@Test
+	public void shouldExposeRawBytesOfUnescapedStrings() throws IOException {
+		byte[] bytes = "[\"plain\",\"é€\",\"日本語テキスト\",\"a😀b\",\"é\\tb\",\"esc\\n\",\"\",{\"k\":\"value\"},\"spans".getBytes(StandardCharsets.UTF_8);
+		NonBlockingJsonParser parser = (NonBlockingJsonParser) jsonFactory.createNonBlockingByteArrayParser();
+		ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+		feeder.feedInput(ByteBuffer.wrap(bytes));
+
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.START_ARRAY);
+		assertThat(parser.getRawTextBytes()).isNull();
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_STRING);
+		assertThat(parser.isRawTextAscii()).isTrue();
+		assertThat(rawText(parser)).isEqualTo("plain");
+		assertThat(parser.getText()).isEqualTo("plain");
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_STRING);
+		assertThat(parser.isRawTextAscii()).isFalse();
+		assertThat(rawText(parser)).isEqualTo("é€");
+		assertThat(parser.getText()).isEqualTo("é€");
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_STRING);
+		assertThat(rawText(parser)).isEqualTo("日本語テキスト");
+		assertThat(parser.getText()).isEqualTo("日本語テキスト");
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_STRING);
+		assertThat(rawText(parser)).isEqualTo("a😀b");
+		assertThat(parser.getText()).isEqualTo("a😀b");
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_STRING);
+		assertThat(parser.getRawTextBytes()).isNull();
+		assertThat(parser.getText()).isEqualTo("é\tb");
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_STRING);
+		assertThat(parser.getRawTextBytes()).isNull();
+		assertThat(parser.getText()).isEqualTo("esc\n");
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_STRING);
+		assertThat(rawText(parser)).isEmpty();
+		assertThat(parser.getTextLength()).isEqualTo(0);
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+		assertThat(parser.nextFieldName()).isEqualTo("k");
+		assertThat(parser.nextTextValue()).isEqualTo("value");
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.END_OBJECT);
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.NOT_AVAILABLE);
+
+		// value spanning chunks is only available as text
+		byte[] second = " chunks\",\"last\"".getBytes(StandardCharsets.UTF_8);
+		feeder.feedInput(ByteBuffer.wrap(second));
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_STRING);
+		assertThat(parser.getRawTextBytes()).isNull();
+		assertThat(new String(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength()))
+				.isEqualTo("spans chunks");
+
+		// value ending with the chunk is copied before the chunk is let go of
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_STRING);
+		assertThat(rawText(parser)).isEqualTo("last");
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.NOT_AVAILABLE);
+		assertThat(parser.getRawTextBytes()).isNull();
+		Arrays.fill(second, (byte) 'x');
+		assertThat(parser.getText()).isEqualTo("last");
+		feeder.feedInput(ByteBuffer.wrap(new byte[] { ']' }));
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.END_ARRAY);
+	}
+
+	@Test
+	public void shouldHandOutLongStringsInChunks() throws IOException {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			text.append(i % 7 == 0 ? "é\\n" : i % 11 == 0 ? "中\\u20ac" : i % 13 == 0 ? "😀" : "abc");
+		}
+		String json = "{\"short\":\"abc\",\"long\":\"" + text + "\",\"n\":1,\"again\":\"" + text + "\"}";
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+		String expected = new com.fasterxml.jackson.databind.ObjectMapper().readTree(bytes).get("long").asText();
+
+		for (int chunkSize : new int[] { 1, 7, 100, 1000 }) {
+			for (JsonParser parser : Arrays.asList(jsonFactory.createNonBlockingByteArrayParser(),
+					jsonFactory.createNonBlockingQueuedParser())) {
+				List<String> chunks = new ArrayList<>();
+				StringBuilder streamed = new StringBuilder();
+				((NonBlockingJsonParser) parser).setStringChunkListener((buffer, offset, length, last) -> {
+					chunks.add(new String(buffer, offset, length));
+					if (last) {
+						streamed.append(String.join("", chunks)).append('|');
+						chunks.clear();
+					}
+				}, 500);
+				List<String> tokens = nonBlockingTokens(parser, bytes, chunkSize, ByteBuffer::wrap);
+				assertThat(tokens).as("chunk size %d", chunkSize).containsExactly("START_OBJECT",
+						"FIELD_NAME:short", "VALUE_STRING:abc", "FIELD_NAME:long", "VALUE_STRING:",
+						"FIELD_NAME:n", "VALUE_NUMBER_INT:1=INT:1", "FIELD_NAME:again", "VALUE_STRING:", "END_OBJECT");
+				assertThat(streamed.toString()).as("chunk size %d", chunkSize).isEqualTo(expected + "|" + expected + "|");
+			}
+		}
+
+		// values that fit in one chunk are not handed out
+		NonBlockingJsonParser parser = (NonBlockingJsonParser) jsonFactory.createNonBlockingByteArrayParser();
+		parser.setStringChunkListener((buffer, offset, length, last) -> {
+			throw new AssertionError("unexpected chunk");
+		}, 500);
+		assertThat(nonBlockingTokens(parser, bytes, bytes.length, ByteBuffer::wrap)).contains("VALUE_STRING:" + expected);
+	}
+
+	@Test
+	public void shouldDecodeBinaryValuesAsInputArrives() throws IOException {
+		Random random = new Random(42);
+		List<byte[]> binaries = new ArrayList<>();
+		StringBuilder json = new StringBuilder("[");
+		for (int length : new int[] { 0, 1, 2, 3, 4, 5, 100, 5000 }) {
+			byte[] binary = new byte[length];
+			random.nextBytes(binary);
+			binaries.add(binary);
+			json.append(json.length() > 1 ? "," : "").append('"').append(Base64Variants.MIME_NO_LINEFEEDS.encode(binary)).append('"');
+		}
+		// escapes decoded before Base64, and line feeds between units of MIME variant
+		json.append(",\"\\u0051UJD\\/w==\",\"").append(Base64Variants.MIME.encode(binaries.get(7)).replace("\n", "\\n"))
+				.append("\",12,\"not decoded\"]");
+		byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+
+		for (int chunkSize : new int[] { 1, 2, 3, 5, 100, 1000, bytes.length }) {
+			for (boolean collect : new boolean[] { true, false }) {
+				NonBlockingJsonParser parser = (NonBlockingJsonParser) jsonFactory.createNonBlockingByteArrayParser();
+				List<byte[]> decoded = new ArrayList<>();
+				List<String> texts = new ArrayList<>();
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				nonBlockingTokens(parser, bytes, chunkSize, ByteBuffer::wrap, (p, token, described) -> {
+					if (token == JsonToken.VALUE_STRING) {
+						texts.add(parser.getText());
+						if (texts.size() <= binaries.size() + 2) {
+							decoded.add(collect ? parser.getBinaryValue() : out.toByteArray());
+							out.reset();
+						}
+					}
+					if (decoded.size() < binaries.size() + 2) {
+						parser.decodeNextBinaryValue(Base64Variants.MIME, collect ? null : out);
+					}
+				});
+				assertThat(decoded.subList(0, binaries.size())).as("chunk size %d", chunkSize)
+						.containsExactlyElementsOf(binaries);
+				assertThat(decoded.get(binaries.size())).isEqualTo(new byte[] { 'A', 'B', 'C', (byte) 0xff });
+				assertThat(decoded.get(binaries.size() + 1)).isEqualTo(binaries.get(7));
+				assertThat(texts.subList(0, binaries.size() + 2)).allMatch(String::isEmpty);
+				assertThat(texts.get(binaries.size() + 2)).isEqualTo("not decoded");
+			}
+		}
+
+		for (String invalid : new String[] { "[\"QUJ\"]", "[\"QU=D\"]", "[\"QU*D\"]", "[\"QQ=x\"]" }) {
+			byte[] document = invalid.getBytes(StandardCharsets.UTF_8);
+			for (int chunkSize : new int[] { 1, document.length }) {
+				NonBlockingJsonParser parser = (NonBlockingJsonParser) jsonFactory.createNonBlockingByteArrayParser();
+				assertThatThrownBy(() -> nonBlockingTokens(parser, document, chunkSize, ByteBuffer::wrap,
+						(p, token, described) -> parser.decodeNextBinaryValue(Base64Variants.MIME, null))).as("%s, chunk size %d", invalid, chunkSize).isInstanceOf(JsonParseException.class)
+						.hasMessageContaining("base64");
+			}
+		}
+	}
+
+	@Test
+	public void shouldPredictFieldNamesOfRepeatedObjects() throws IOException {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < 200; i++) {
+			json.append(i == 0 ? "" : ",");
+			switch (i % 7) {
+				case 3: // different order
+					json.append("{\"name\":\"n\",\"id\":").append(i).append("}");
+					break;
+				case 5: // same names, one escaped
+					json.append("{\"id\":").append(i).append(",\"n\\u0061me\":\"n\",\"descriptionText\":\"\",\"tags\":[]}");
+					break;
+				default:
+					json.append("{\"id\":").append(i).append(",\"name\":\"n\",\"descriptionText\":\"d\",")
+							.append("\"tags\":[{\"été\":1,\"k\":2}],\"nested\":{\"id\":{},\"name\":null}}");
+			}
+		}
+		byte[] bytes = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+		List<String> expected = blockingTokens(bytes);
+		for (int chunkSize : new int[] { 1, 7, 13, 64, 1000, bytes.length }) {
+			assertThat(nonBlockingTokens(bytes, chunkSize, ByteBuffer::wrap)).as("chunk size %d", chunkSize)
+					.containsExactlyElementsOf(expected);
+			assertThat(nonBlockingTokens(bytes, chunkSize, chunk -> (ByteBuffer) ByteBuffer.allocateDirect(chunk.length).put(chunk).flip()))
+					.as("direct, chunk size %d", chunkSize)
+					.containsExactlyElementsOf(expected);
+		}
+	}
+
+	@Test
+	public void shouldKeepFieldOrderWhenMixingNameMatchingAndDecoding() throws Exception {
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < 600; i++) {
+			json.append(i == 0 ? "" : ",").append("{\"alpha\":1,\"beta\":2,\"gamma\":3}");
+		}
+		NonBlockingJsonParser parser = (NonBlockingJsonParser) jsonFactory.createNonBlockingByteArrayParser();
+		ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+		feeder.feedInput(ByteBuffer.wrap(json.append(']').toString().getBytes(StandardCharsets.UTF_8)));
+		feeder.endOfInput();
+
+		SerializedString alpha = new SerializedString("alpha");
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.START_ARRAY);
+		for (int i = 0; i < 600; i++) {
+			assertThat(parser.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+			assertThat(parser.nextFieldName(alpha)).isTrue();
+			assertThat(parser.nextIntValue(0)).isEqualTo(1);
+			assertThat(parser.nextFieldName()).isEqualTo("beta");
+			assertThat(parser.nextIntValue(0)).isEqualTo(2);
+			assertThat(parser.nextFieldName()).isEqualTo("gamma");
+			assertThat(parser.nextIntValue(0)).isEqualTo(3);
+			assertThat(parser.nextToken()).isEqualTo(JsonToken.END_OBJECT);
+		}
+
+		// "beta" and "gamma" of every Object but the first are predicted from the previous one
+		assertThat(parser._namesPredicted).isEqualTo(2 * 599);
+	}
+
+	@Test
+	public void shouldDecodeDoublesLikeJdk() throws IOException {
+		Random random = new Random(42);
+		StringBuilder json = new StringBuilder("[");
+		List<String> values = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			String value;
+			switch (i % 4) {
+				case 0:
+					value = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+					break;
+				case 1:
+					value = String.format(Locale.ROOT, "%." + (random.nextInt(10) + 1) + "f", (random.nextDouble() - 0.5) * 1e6);
+					break;
+				case 2:
+					value = (random.nextInt(2000000) - 1000000) + "e" + (random.nextInt(60) - 30);
+					break;
+				default:
+					value = Long.toString(random.nextLong() >>> random.nextInt(64)) + "." + random.nextInt(1000);
+			}
+			values.add(value);
+			json.append(i == 0 ? "" : ",").append(value);
+		}
+		byte[] bytes = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+
+		JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
+		ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+		feeder.feedInput(ByteBuffer.wrap(bytes));
+		feeder.endOfInput();
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.START_ARRAY);
+		for (String value : values) {
+			assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_NUMBER_FLOAT);
+			assertThat(parser.getDoubleValue()).as(value).isEqualTo(Double.parseDouble(value));
+		}
+	}
+
+	@Test
+	public void shouldQueueInputFedBeforeDecoding() throws IOException {
+		byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+		List<String> expected = blockingTokens(bytes);
+		for (int chunkSize = 1; chunkSize <= bytes.length; chunkSize = chunkSize < 24 ? chunkSize + 1 : chunkSize * 2) {
+			JsonParser parser = jsonFactory.createNonBlockingQueuedParser();
+			ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+			for (int start = 0; start < bytes.length; start += chunkSize) {
+				feeder.feedInput(ByteBuffer.wrap(bytes, start, Math.min(chunkSize, bytes.length - start)));
+			}
+			assertThat(feeder.needMoreInput()).isFalse();
+			List<String> tokens = new ArrayList<>();
+			readAvailable(parser, tokens);
+			assertThat(feeder.needMoreInput()).isTrue();
+
+			feeder.endOfInput();
+			readAvailable(parser, tokens);
+			assertThat(tokens).as("chunk size %d", chunkSize).containsExactlyElementsOf(expected);
+		}
+	}
+
+	@Test
+	public void shouldQueueInputFedFromAnotherThread() throws Exception {
+		byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+		JsonParser parser = jsonFactory.createNonBlockingQueuedParser();
+		ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+		Thread producer = new Thread(() -> {
+			try {
+				for (int start = 0; start < bytes.length; start += 5) {
+					ByteBuffer chunk = ByteBuffer.allocateDirect(Math.min(5, bytes.length - start));
+					chunk.put(bytes, start, chunk.capacity());
+					chunk.flip();
+					feeder.feedInput(chunk);
+				}
+				feeder.endOfInput();
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		producer.start();
+
+		List<String> tokens = new ArrayList<>();
+		JsonToken token;
+		while ((token = parser.nextToken()) != null) {
+			if (token != JsonToken.NOT_AVAILABLE) {
+				tokens.add(describe(parser, token));
+			}
+		}
+		producer.join();
+		assertThat(tokens).containsExactlyElementsOf(blockingTokens(bytes));
+	}
+
+	@Test
+	public void shouldReleaseQueuedInput() throws IOException {
+		JsonParser parser = jsonFactory.createNonBlockingQueuedParser();
+		ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+		feeder.feedInput(ByteBuffer.wrap("{\"a\":1} {".getBytes(StandardCharsets.UTF_8)));
+		feeder.feedInput(ByteBuffer.wrap("\"b\":2}".getBytes(StandardCharsets.UTF_8)));
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.FIELD_NAME);
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.VALUE_NUMBER_INT);
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.END_OBJECT);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		assertThat(parser.releaseBuffered(out)).isEqualTo(8);
+		assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(" {\"b\":2}");
+	}
+
+	@Test
+	public void shouldSkipChildrenAcrossChunks() throws IOException {
+		byte[] bytes = ("{\"keep\":1,\"skipped\":{\"a\":\"with } and ] and \\\" quote \\\\\",\"b\":[1,{\"c\":\"]\"}]," +
+				"\"long\":\"plain ascii text that is long enough to span chunks\",\"utf8\":\"café € 😀 {[\",\"d\":{}}," +
+				"\"after\":[{\"skipped\":[[\"x\"],\"\\u005d\\\\\"]},2],\"skipped\":[],\"last\":true}").getBytes(StandardCharsets.UTF_8);
+		List<String> expected = new ArrayList<>();
+		try (JsonParser parser = new com.fasterxml.jackson.core.JsonFactory().createParser(bytes)) {
+			JsonToken token;
+			while ((token = parser.nextToken()) != null) {
+				expected.add(describe(parser, token));
+				if (token.isStructStart() && "skipped".equals(parser.getCurrentName())) {
+					expected.add(describe(parser, parser.skipChildren().currentToken()));
+				}
+			}
+		}
+		assertThat(expected).contains("VALUE_TRUE");
+
+		for (int chunkSize = 1; chunkSize <= bytes.length; chunkSize = chunkSize < 24 ? chunkSize + 1 : chunkSize * 2) {
+			List<String> tokens = nonBlockingTokens(jsonFactory.createNonBlockingByteArrayParser(), bytes, chunkSize,
+					ByteBuffer::wrap, (parser, token, described) -> {
+						described.add(describe(parser, token));
+						if (token.isStructStart() && "skipped".equals(parser.getCurrentName())
+								&& parser.skipChildren().currentToken() != JsonToken.NOT_AVAILABLE) {
+							described.add(describe(parser, parser.currentToken()));
+						}
+					});
+			assertThat(tokens).as("chunk size %d", chunkSize).containsExactlyElementsOf(expected);
+		}
+	}
+
+	@Test
+	public void shouldReportEndOfInputWithinSkippedChildren() throws IOException {
+		JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
+		ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+		feeder.feedInput(ByteBuffer.wrap("[{\"a\":\"]}".getBytes(StandardCharsets.UTF_8)));
+		assertThat(parser.nextToken()).isEqualTo(JsonToken.START_ARRAY);
+		assertThat(parser.skipChildren().currentToken()).isEqualTo(JsonToken.NOT_AVAILABLE);
+		feeder.endOfInput();
+		assertThatThrownBy(parser::nextToken)
+				.isInstanceOf(JsonParseException.class)
+				.hasMessageContaining("was expecting closing marker of skipped content");
+	}
+
+	@Test
+	public void shouldMatchExpectedFieldNamesAcrossChunks() throws IOException {
+		byte[] bytes = ("{\"id\":1,\n \"name\":\"Robert\",\r\n\t\"café\":[{\"id\":2,\"esc\\u0061ped\":true,\"longerFieldName\":{}}]," +
+				" \"other\" : null ,\"last\":\"x\"}").getBytes(StandardCharsets.UTF_8);
+		List<String> expected = blockingTokens(bytes);
+		for (int chunkSize = 1; chunkSize <= bytes.length; chunkSize++) {
+			JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
+			ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+			List<String> tokens = new ArrayList<>();
+			int fed = 0;
+			while (tokens.size() < expected.size()) {
+				String next = expected.get(tokens.size());
+				JsonToken token;
+				if (next.startsWith("FIELD_NAME:")) {
+					boolean wrong = tokens.size() % 3 == 0;
+					String name = next.substring("FIELD_NAME:".length()) + (wrong ? "x" : "");
+					boolean matched = parser.nextFieldName(new SerializedString(name));
+					token = parser.currentToken();
+					assertThat(matched).isEqualTo(!wrong && token == JsonToken.FIELD_NAME);
+				} else {
+					token = parser.nextToken();
+				}
+				if (token == JsonToken.NOT_AVAILABLE) {
+					int length = Math.min(chunkSize, bytes.length - fed);
+					feeder.feedInput(ByteBuffer.wrap(bytes, fed, length));
+					fed += length;
+				} else {
+					tokens.add(describe(parser, token));
+				}
+			}
+			assertThat(tokens).as("chunk size %d", chunkSize).containsExactlyElementsOf(expected);
+			assertThat(parser.getTokenLocation().getLineNr()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	public void shouldReturnExpectedValueTypes() throws IOException {
+		JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
+		ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+		feeder.feedInput(ByteBuffer.wrap("[\"text\",-12,1234567890123,1234567890123456789,true,false,null,1.5]"
+				.getBytes(StandardCharsets.UTF_8)));
+		feeder.endOfInput();
+		assertThat(parser.nextTextValue()).isNull();
+		assertThat(parser.nextTextValue()).isEqualTo("text");
+		assertThat(parser.nextIntValue(0)).isEqualTo(-12);
+		assertThat(parser.nextLongValue(0L)).isEqualTo(1234567890123L);
+		assertThat(parser.nextLongValue(0L)).isEqualTo(1234567890123456789L);
+		assertThat(parser.nextBooleanValue()).isTrue();
+		assertThat(parser.nextBooleanValue()).isFalse();
+		assertThat(parser.nextBooleanValue()).isNull();
+		assertThat(parser.nextIntValue(-1)).isEqualTo(-1);
+		assertThat(parser.nextFieldName()).isNull();
+		assertThat(parser.currentToken()).isEqualTo(JsonToken.END_ARRAY);
+	}
+
+	@Test
+	public void shouldLeaveTokenNotAvailableWhenInputRunsOutBeforeFirstToken() throws IOException {
+		JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
+		ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+		assertThat(parser.nextTextValue()).isNull();
+		assertThat(parser.currentToken()).isEqualTo(JsonToken.NOT_AVAILABLE);
+		feeder.feedInput(ByteBuffer.wrap(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}));
+		assertThat(parser.nextFieldName()).isNull();
+		assertThat(parser.currentToken()).isEqualTo(JsonToken.NOT_AVAILABLE);
+		feeder.feedInput(ByteBuffer.wrap(" \n".getBytes(StandardCharsets.UTF_8)));
+		assertThat(parser.nextBooleanValue()).isNull();
+		assertThat(parser.currentToken()).isEqualTo(JsonToken.NOT_AVAILABLE);
+		feeder.feedInput(ByteBuffer.wrap("\"text\"".getBytes(StandardCharsets.UTF_8)));
+		feeder.endOfInput();
+		assertThat(parser.nextTextValue()).isEqualTo("text");
+		assertThat(parser.getTokenLocation().getLineNr()).isEqualTo(2);
+		assertThat(parser.nextToken()).isNull();
+	}
+
+	private void assertChunkedParsing(Function<byte[], ByteBuffer> bufferFactory) throws IOException {
+		byte[] bytes = DOCUMENT.getBytes(StandardCharsets.UTF_8);
+		List<String> expected = blockingTokens(bytes);
+		for (int chunkSize = 1; chunkSize <= bytes.length; chunkSize = chunkSize < 24 ? chunkSize + 1 : chunkSize * 2) {
+			assertThat(nonBlockingTokens(bytes, chunkSize, bufferFactory))
+					.as("chunk size %d", chunkSize)
+					.containsExactlyElementsOf(expected);
+		}
+		assertThat(nonBlockingTokens(bytes, bytes.length, bufferFactory)).containsExactlyElementsOf(expected);
+	}
+
+	private List<String> blockingTokens(byte[] bytes) throws IOException {
+		List<String> tokens = new ArrayList<>();
+		try (JsonParser parser = new com.fasterxml.jackson.core.JsonFactory().createParser(bytes)) {
+			JsonToken token;
+			while ((token = parser.nextToken()) != null) {
+				tokens.add(describe(parser, token));
+			}
+		}
+		return tokens;
+	}
+
+	private List<String> nonBlockingTokens(byte[] bytes, int chunkSize,
+										   Function<byte[], ByteBuffer> bufferFactory) throws IOException {
+		return nonBlockingTokens(jsonFactory.createNonBlockingByteArrayParser(), bytes, chunkSize, bufferFactory);
+	}
+
+	private List<String> nonBlockingTokens(JsonParser parser, byte[] bytes, int chunkSize,
+										   Function<byte[], ByteBuffer> bufferFactory) throws IOException {
+		return nonBlockingTokens(parser, bytes, chunkSize, bufferFactory,
+				(p, token, tokens) -> tokens.add(describe(p, token)));
+	}
+
+	private List<String> nonBlockingTokens(JsonParser parser, byte[] bytes, int chunkSize,
+										   Function<byte[], ByteBuffer> bufferFactory, TokenHandler handler) throws IOException {
+		List<String> tokens = new ArrayList<>();
+		ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+		for (int start = 0; start < bytes.length; start += chunkSize) {
+			int end = Math.min(bytes.length, start + chunkSize);
+			byte[] chunk = new byte[end - start];
+			System.arraycopy(bytes, start, chunk, 0, chunk.length);
+			feeder.feedInput(bufferFactory.apply(chunk));
+			readAvailable(parser, tokens, handler);
+		}
+		feeder.endOfInput();
+		readAvailable(parser, tokens, handler);
+		return tokens;
+	}
+
+	private List<String> tokensOrError(JsonParser parser, byte[] bytes, int chunkSize) {
+		List<String> tokens = new ArrayList<>();
+		try {
+			tokens.addAll(nonBlockingTokens(parser, bytes, chunkSize, ByteBuffer::wrap));
+		} catch (IOException e) {
+			tokens.add(e.getMessage().split("\n")[0]);
+		}
+		return tokens;
+	}
+
+	private void readAvailable(JsonParser parser, List<String> tokens) throws IOException {
+		readAvailable(parser, tokens, (p, token, described) -> described.add(describe(p, token)));
+	}
+
+	private void readAvailable(JsonParser parser, List<String> tokens, TokenHandler handler) throws IOException {
+		JsonToken token;
+		while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+			handler.token(parser, token, tokens);
+		}
+	}
+
+	private static String rawText(NonBlockingJsonParser parser) {
+		ByteBuffer raw = parser.getRawTextBytes();
+		byte[] bytes = new byte[raw.remaining()];
+		raw.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static String describe(JsonParser parser, JsonToken token) throws IOException {
+		switch (token) {
+			case FIELD_NAME:
+				return token + ":" + parser.getCurrentName();
+			case VALUE_STRING:
+				return token + ":" + parser.getText();
+			case VALUE_NUMBER_INT:
+			case VALUE_NUMBER_FLOAT:
+				return token + ":" + parser.getText() + "=" + parser.getNumberType() + ":" + parser.getNumberValue();
+			default:
+				return token.toString();
+		}
+	}
+
+	/**
+	 * Called for each token read, with the list of token descriptions to add to if any
+	 */
+	private interface TokenHandler {
+
+		void token(JsonParser parser, JsonToken token, List<String> tokens) throws IOException;
+	}
+
+	private static class SymbolCountingJsonFactory extends JsonFactory {
+
+		int symbolCount() {
+			return _byteSymbolCanonicalizer.size();
+		}
+	}
+}
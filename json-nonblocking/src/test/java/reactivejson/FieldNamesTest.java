@@ -0,0 +1,34 @@
+package reactivejson;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FieldNamesTest {
+
+	@Test
+	public void shouldCollectNamesOfNestedTypes() {
+		ObjectMapper mapper = new ObjectMapper();
+
+		assertThat(FieldNames.of(mapper.readerFor(Parent.class), Parent.class))
+				.containsExactlyInAnyOrder("id", "display_name", "children", "byKey", "label", "parent");
+	}
+
+	static class Parent {
+		public long id;
+		@JsonProperty("display_name")
+		public String name;
+		public List<Child> children;
+		public Map<String, Child> byKey;
+	}
+
+	static class Child {
+		public String label;
+		public Parent parent;
+	}
+}
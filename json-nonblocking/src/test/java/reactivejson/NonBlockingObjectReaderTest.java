@@ -0,0 +1,55 @@
+package reactivejson;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.async_.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class NonBlockingObjectReaderTest {
+
+	@Test
+	public void shouldApplyParserFeaturesToElementsBoundFromBytes() throws IOException {
+		JsonFactory jsonFactory = new JsonFactory();
+		jsonFactory.enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+		// reader of a mapper with another factory, as features are those of given one
+		ObjectMapper mapper = new ObjectMapper();
+
+		try (NonBlockingObjectReader reader = new NonBlockingObjectReader(jsonFactory, true, mapper.readerFor(Map.class))) {
+			List<Object> objects = new ArrayList<>(reader.readObjects(buffer("[{\"a\":1},")));
+			assertThat(objects).hasSize(1);
+			assertThatThrownBy(() -> reader.readObjects(buffer("{\"a\":1,\"a\":2}]")))
+					.isInstanceOf(JsonParseException.class)
+					.hasMessageContaining("Duplicate field 'a'");
+		}
+	}
+
+	@Test
+	public void shouldNotLetBoundElementsReconfigureParser() throws IOException {
+		JsonFactory jsonFactory = new JsonFactory();
+		ObjectReader lenientReader = new ObjectMapper().readerFor(JsonNode.class).with(JsonParser.Feature.ALLOW_SINGLE_QUOTES);
+
+		try (NonBlockingObjectReader reader = new NonBlockingObjectReader(jsonFactory, true, lenientReader)) {
+			assertThat(reader.readObjects(buffer("[1,"))).hasSize(1);
+			assertThatThrownBy(() -> reader.readObjects(buffer("'x']")))
+					.isInstanceOf(JsonParseException.class);
+		}
+	}
+
+	private static ByteBuffer buffer(String json) {
+		return ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,192 @@
+package reactivejson;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.core.async_.JsonFactory;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ScalarsModuleTest {
+
+	private final JsonFactory jsonFactory = new JsonFactory();
+
+	private final ObjectMapper mapper = new ObjectMapper(this.jsonFactory).registerModule(new ScalarsModule());
+
+	@Test
+	public void shouldDecodeCanonicalValuesFromChars() {
+		assertThat(parse(ScalarDeserializers.InstantDeserializer.INSTANCE, "2026-10-17T12:34:56.789Z"))
+				.isEqualTo(Instant.parse("2026-10-17T12:34:56.789Z"));
+		assertThat(parse(ScalarDeserializers.InstantDeserializer.INSTANCE, "0000-01-01T00:00:00Z"))
+				.isEqualTo(Instant.parse("0000-01-01T00:00:00Z"));
+		assertThat(parse(ScalarDeserializers.OffsetDateTimeDeserializer.INSTANCE, "2024-02-29T23:59:59.123456789+05:30"))
+				.isEqualTo(OffsetDateTime.parse("2024-02-29T23:59:59.123456789+05:30"));
+		assertThat(parse(ScalarDeserializers.LocalDateDeserializer.INSTANCE, "2000-02-29"))
+				.isEqualTo(LocalDate.of(2000, 2, 29));
+		assertThat(parse(ScalarDeserializers.UuidDeserializer.INSTANCE, "123E4567-e89b-12d3-A456-426614174000"))
+				.isEqualTo(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"));
+
+		// Left to regular parsing
+		assertThat(parse(ScalarDeserializers.InstantDeserializer.INSTANCE, "2026-10-17T12:34:56.Z")).isNull();
+		assertThat(parse(ScalarDeserializers.InstantDeserializer.INSTANCE, "2026-10-17T12:34:56.1234567890Z")).isNull();
+		assertThat(parse(ScalarDeserializers.InstantDeserializer.INSTANCE, "2026-10-17T12:34:56")).isNull();
+		assertThat(parse(ScalarDeserializers.InstantDeserializer.INSTANCE, "2026-10-17T12:34:56+02")).isNull();
+		assertThat(parse(ScalarDeserializers.InstantDeserializer.INSTANCE, "1969-12-31T23:59:59.5-08:00")).isNull();
+		assertThat(parse(ScalarDeserializers.OffsetDateTimeDeserializer.INSTANCE, "2026-10-17T12:34+02:00")).isNull();
+		assertThat(parse(ScalarDeserializers.LocalDateDeserializer.INSTANCE, "1900-02-29")).isNull();
+		assertThat(parse(ScalarDeserializers.LocalDateDeserializer.INSTANCE, "2026-1-17")).isNull();
+		assertThat(parse(ScalarDeserializers.UuidDeserializer.INSTANCE, "123e4567-e89b-12d3-a456-42661417400g")).isNull();
+	}
+
+	@Test
+	public void shouldBindFromAllParsers() throws IOException {
+		String json = "[" +
+				record("2026-10-17T12:34:56.789Z", "2026-10-17T12:34:56Z", "2026-10-17",
+						"123e4567-e89b-12d3-a456-426614174000", "RED") + "," +
+				record("2024-02-29T23:59:59.123456789+05:30", "1969-12-31T23:59:59.5-08:00", "2000-02-29",
+						"00000000-0000-0000-0000-000000000000", "dark-green") + "," +
+				record("+12026-10-17T12:34:56Z", "2026-10-17T12:34+02:00", "+12026-10-17",
+						"FFFFFFFF-FFFF-FFFF-FFFF-FFFFFFFFFFFF", "BLUE") + "]";
+		List<Record> expected = new ArrayList<>();
+		expected.add(new Record("2026-10-17T12:34:56.789Z", "2026-10-17T12:34:56Z", "2026-10-17",
+				"123e4567-e89b-12d3-a456-426614174000", Color.RED));
+		expected.add(new Record("2024-02-29T18:29:59.123456789Z", "1969-12-31T23:59:59.5-08:00", "2000-02-29",
+				"00000000-0000-0000-0000-000000000000", Color.GREEN));
+		expected.add(new Record("+12026-10-17T12:34:56Z", "2026-10-17T12:34+02:00", "+12026-10-17",
+				"ffffffff-ffff-ffff-ffff-ffffffffffff", Color.BLUE));
+
+		assertThat(readBlocking(json)).isEqualTo(expected);
+		assertThat(readNonBlocking(json)).isEqualTo(expected);
+		assertThat(readTokens(json)).isEqualTo(expected);
+	}
+
+	@Test
+	public void shouldLeaveOtherEnumValuesToDefaultHandling() throws IOException {
+		assertThat(this.mapper.readValue("1", Color.class)).isEqualTo(Color.GREEN);
+		assertThat(this.mapper.readValue("\"BLUE\"", Color.class)).isEqualTo(Color.BLUE);
+		assertThatThrownBy(() -> this.mapper.readValue("\"BLU\"", Color.class))
+				.isInstanceOf(InvalidFormatException.class);
+		assertThatThrownBy(() -> this.mapper.readValue("\"GREEN\"", Color.class))
+				.isInstanceOf(InvalidFormatException.class);
+
+		ObjectMapper caseInsensitive = new ObjectMapper(this.jsonFactory).registerModule(new ScalarsModule())
+				.enable(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS);
+		assertThat(caseInsensitive.readValue("\"red\"", Color.class)).isEqualTo(Color.RED);
+		assertThat(caseInsensitive.readValue("\"Dark-Green\"", Color.class)).isEqualTo(Color.GREEN);
+	}
+
+	@Test
+	public void shouldFailOnInvalidValues() {
+		assertThatThrownBy(() -> this.mapper.readValue("\"2026-02-30T00:00:00Z\"", Instant.class))
+				.isInstanceOf(InvalidFormatException.class);
+		assertThatThrownBy(() -> this.mapper.readValue("\"2026-13-01\"", LocalDate.class))
+				.isInstanceOf(InvalidFormatException.class);
+		assertThatThrownBy(() -> this.mapper.readValue("\"not-a-uuid\"", UUID.class))
+				.isInstanceOf(InvalidFormatException.class);
+	}
+
+	@Test
+	public void shouldReadEmptyStringsAsNull() throws IOException {
+		assertThat(this.mapper.readValue("\"\"", Instant.class)).isNull();
+		assertThat(this.mapper.readValue("\" \"", LocalDate.class)).isNull();
+	}
+
+	private static <T> T parse(ScalarDeserializers.FromChars<T> deserializer, String value) {
+		char[] text = ("[\"" + value + "\"]").toCharArray();
+		return deserializer.parse(text, 2, value.length());
+	}
+
+	private static String record(String at, String since, String day, String id, String color) {
+		return String.format("{\"at\":\"%s\",\"since\":\"%s\",\"day\":\"%s\",\"id\":\"%s\",\"color\":\"%s\"}",
+				at, since, day, id, color);
+	}
+
+	private List<Record> readBlocking(String json) throws IOException {
+		return this.mapper.readValue(json, this.mapper.getTypeFactory().constructCollectionType(List.class, Record.class));
+	}
+
+	private List<Record> readNonBlocking(String json) throws IOException {
+		JsonParser parser = this.jsonFactory.createNonBlockingByteArrayParser();
+		((ByteBufferFeeder) parser.getNonBlockingInputFeeder())
+				.feedInput(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+		((ByteBufferFeeder) parser.getNonBlockingInputFeeder()).endOfInput();
+		return this.mapper.readValue(parser, this.mapper.getTypeFactory().constructCollectionType(List.class, Record.class));
+	}
+
+	private List<Record> readTokens(String json) throws IOException {
+		Tokenizer tokenizer = new Tokenizer(this.jsonFactory, true);
+		List<TokenBuffer> tokens = new ArrayList<>(tokenizer.tokenize(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8))));
+		tokens.addAll(tokenizer.endOfInput());
+		List<Record> records = new ArrayList<>();
+		for (TokenBuffer tokenBuffer : tokens) {
+			records.add(this.mapper.readValue(tokenBuffer.asParser(this.mapper), Record.class));
+		}
+		return records;
+	}
+
+
+	enum Color {
+		RED,
+		@JsonProperty("dark-green")
+		GREEN,
+		BLUE
+	}
+
+	static class Record {
+		public Instant at;
+		public OffsetDateTime since;
+		public LocalDate day;
+		public UUID id;
+		public Color color;
+
+		Record() {
+		}
+
+		Record(String at, String since, String day, String id, Color color) {
+			this.at = Instant.parse(at);
+			this.since = OffsetDateTime.parse(since);
+			this.day = LocalDate.parse(day);
+			this.id = UUID.fromString(id);
+			this.color = color;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Record)) {
+				return false;
+			}
+			Record record = (Record) other;
+			return Objects.equals(this.at, record.at) && Objects.equals(this.since, record.since) &&
+					Objects.equals(this.day, record.day) && Objects.equals(this.id, record.id) &&
+					this.color == record.color;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(this.at, this.since, this.day, this.id, this.color);
+		}
+
+		@Override
+		public String toString() {
+			return this.at + " " + this.since + " " + this.day + " " + this.id + " " + this.color;
+		}
+	}
+
+}
@@ -16,8 +16,11 @@
 
 package reactivejson;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.core.async_.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.util.TokenBuffer;
@@ -30,9 +33,12 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -182,6 +188,18 @@ public class TokenizerTest {
 
 
 	private void testTokenize(List<String> source, List<String> expected, boolean tokenizeArrayElements) {
+		testTokenize(source, expected, tokenizeArrayElements, false, this::stringBuffer);
+		testTokenize(source, expected, tokenizeArrayElements, true, this::stringBuffer);
+		testTokenize(source, expected, tokenizeArrayElements, false, true, this::stringBuffer);
+	}
+
+	private void testTokenize(List<String> source, List<String> expected, boolean tokenizeArrayElements,
+							  boolean elementsAsBytes, Function<String, ByteBuffer> buffers) {
+		testTokenize(source, expected, tokenizeArrayElements, elementsAsBytes, false, buffers);
+	}
+
+	private void testTokenize(List<String> source, List<String> expected, boolean tokenizeArrayElements,
+							  boolean elementsAsBytes, boolean elementsAsParser, Function<String, ByteBuffer> buffers) {
 
 		try {
 			List<TreeNode> expectedTrees = expected.stream()
@@ -193,24 +211,33 @@ public class TokenizerTest {
 						}
 					}).collect(Collectors.toList());
 
-			Tokenizer tokenizer = new Tokenizer(this.jsonFactory, tokenizeArrayElements);
+			Tokenizer tokenizer = new Tokenizer(this.jsonFactory, tokenizeArrayElements, elementsAsBytes, elementsAsParser);
 
-			List<TokenBuffer> tokenBuffers = new ArrayList<>(source.size());
+			List<TreeNode> actual = new ArrayList<>(source.size());
+			Tokenizer.ElementHandler handler = new Tokenizer.ElementHandler() {
+				@Override
+				public void tokens(TokenBuffer tokenBuffer) throws IOException {
+					actual.add(objectReader.readTree(tokenBuffer.asParser()));
+				}
+
+				@Override
+				public void bytes(ByteBuffer bytes) throws IOException {
+					byte[] array = new byte[bytes.remaining()];
+					bytes.get(array);
+					actual.add(objectReader.readTree(new String(array, StandardCharsets.UTF_8)));
+				}
+
+				@Override
+				public void parser(JsonParser parser) throws IOException {
+					actual.add(objectReader.readTree(parser));
+				}
+			};
 
 			for(String s : source){
-				tokenBuffers.addAll(tokenizer.tokenize(stringBuffer(s)));
+				tokenizer.tokenize(buffers.apply(s), handler);
 			}
 
-			tokenBuffers.addAll(tokenizer.endOfInput());
-
-			List<TreeNode> actual = new ArrayList<>(source.size());
-			tokenBuffers.forEach(tokenBuffer -> {
-				try {
-					actual.add(this.objectReader.readTree(tokenBuffer.asParser()));
-				} catch (IOException e) {
-					e.printStackTrace();
-				}
-			});
+			tokenizer.endOfInput(handler);
 
 			assertThat(actual).containsExactlyElementsOf(expectedTrees);
 
@@ -232,6 +259,110 @@ public class TokenizerTest {
 				false);
 	}
 
+	@Test
+	public void shouldHandOutElementsAsBytesFromAnyBuffer() {
+		List<String> source = asList("  [{\"id\":1,\"name\":\"]}\\\"\"}", ",{\"id\":2,",
+				"\"tags\":[\"a\",{\"b\":[]}]}", ",3,", "{\"id\":4}]");
+		List<String> expected = asList("{\"id\":1,\"name\":\"]}\\\"\"}",
+				"{\"id\":2,\"tags\":[\"a\",{\"b\":[]}]}", "3", "{\"id\":4}");
+
+		testTokenize(source, expected, true, true, this::stringBuffer);
+		testTokenize(source, expected, true, true, s -> {
+			// offset into shared array, and direct buffer
+			byte[] bytes = ("xx" + s).getBytes(StandardCharsets.UTF_8);
+			return ByteBuffer.wrap(bytes, 2, bytes.length - 2).slice();
+		});
+		testTokenize(source, expected, true, true, s -> {
+			byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+			buffer.put(bytes).flip();
+			return buffer;
+		});
+		testTokenize(source, singletonList(String.join("", source)), false, true, this::stringBuffer);
+		testTokenize(source, expected, true, true, true, this::stringBuffer);
+	}
+
+	@Test
+	public void shouldWriteStringValuesAsParsed() throws IOException {
+		String json = "{\"plain\":\"ascii value\",\"utf8\":\"café €\",\"escaped\":\"a\\tb\\\"c\",\"empty\":\"\"," +
+				"\"list\":[\"x\",1,\"y\"]}";
+		ObjectMapper mapper = new ObjectMapper(this.jsonFactory);
+		Tokenizer tokenizer = new Tokenizer(this.jsonFactory, false);
+		List<TokenBuffer> tokens = new ArrayList<>(tokenizer.tokenize(stringBuffer(json)));
+		tokens.addAll(tokenizer.endOfInput());
+
+		assertThat(tokens).hasSize(1);
+		assertThat(mapper.writeValueAsString(tokens.get(0))).isEqualTo(json);
+		assertThat(mapper.readValue(tokens.get(0).asParser(), JsonNode.class).get("plain").asText()).isEqualTo("ascii value");
+		assertThat(mapper.readValue(tokens.get(0).asParser(), Map.class)).isEqualTo(mapper.readValue(json, Map.class));
+	}
+
+	@Test
+	public void shouldHandOutCompleteElementsAsParser() throws IOException {
+		List<String> elements = new ArrayList<>();
+		Tokenizer tokenizer = new Tokenizer(this.jsonFactory, true, false, true);
+		Tokenizer.ElementHandler handler = new Tokenizer.ElementHandler() {
+			@Override
+			public void tokens(TokenBuffer tokenBuffer) throws IOException {
+				elements.add("tokens " + objectReader.readTree(tokenBuffer.asParser()));
+			}
+
+			@Override
+			public void bytes(ByteBuffer bytes) {
+				throw new AssertionError();
+			}
+
+			@Override
+			public void parser(JsonParser parser) throws IOException {
+				elements.add("parser " + objectReader.readTree(parser));
+				assertThat(parser.nextToken()).isNull();
+			}
+		};
+
+		tokenizer.tokenize(stringBuffer("[{\"a\":[1,{\"b\":\"}\\\"\"}]},\"x\",{\"c\":"), handler);
+		tokenizer.tokenize(stringBuffer("2},{\"d\":{}},3"), handler);
+		tokenizer.tokenize(stringBuffer("]"), handler);
+		tokenizer.endOfInput(handler);
+
+		assertThat(elements).containsExactly("parser {\"a\":[1,{\"b\":\"}\\\"\"}]}", "parser \"x\"",
+				"tokens {\"c\":2}", "parser {\"d\":{}}", "parser 3");
+	}
+
+	@Test
+	public void shouldSkipUnreadPartOfElementAsParser() throws IOException {
+		List<JsonToken> firstTokens = new ArrayList<>();
+		Tokenizer tokenizer = new Tokenizer(this.jsonFactory, true, false, true);
+		Tokenizer.ElementHandler handler = new Tokenizer.ElementHandler() {
+			@Override
+			public void tokens(TokenBuffer tokenBuffer) {
+				throw new AssertionError();
+			}
+
+			@Override
+			public void bytes(ByteBuffer bytes) {
+				throw new AssertionError();
+			}
+
+			@Override
+			public void parser(JsonParser parser) throws IOException {
+				firstTokens.add(parser.currentToken());
+				if (parser.nextToken() == JsonToken.FIELD_NAME) {
+					parser.nextToken();
+				}
+			}
+		};
+
+		tokenizer.tokenize(stringBuffer("[{\"a\":{\"b\":[1]},\"c\":2},true,{\"d\":[]}]"), handler);
+		tokenizer.endOfInput(handler);
+
+		assertThat(firstTokens).containsExactly(JsonToken.START_OBJECT, JsonToken.VALUE_TRUE, JsonToken.START_OBJECT);
+	}
+
+	@Test(expected = UncheckedIOException.class)
+	public void shouldFailOnIncompleteElementAsBytes() {
+		testTokenize(asList("[{\"id\":", "1"), emptyList(), true, true, this::stringBuffer);
+	}
+
 	private ByteBuffer stringBuffer(String value) {
 		return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
 	}
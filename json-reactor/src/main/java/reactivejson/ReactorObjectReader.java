@@ -8,6 +8,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 
 public class ReactorObjectReader {
@@ -19,26 +20,25 @@ public class ReactorObjectReader {
 	}
 
 	public <T> Flux<T> readElements(Publisher<ByteBuffer> input, ObjectReader objectReader) {
-		try {
-			NonBlockingObjectReader nonBlockingObjectReader = new NonBlockingObjectReader(
-					jsonFactory, true, objectReader);
-
-			return readImpl(input, nonBlockingObjectReader);
-		}
-		catch (IOException ex) {
-			return Flux.error(ex);
-		}
+		return Flux.using(
+				() -> new NonBlockingObjectReader(jsonFactory, true, objectReader),
+				nonBlockingObjectReader -> readImpl(input, nonBlockingObjectReader),
+				ReactorObjectReader::close);
 	}
 
 	public <T> Mono<T> read(Publisher<ByteBuffer> input, ObjectReader objectReader) {
-		try {
-			NonBlockingObjectReader nonBlockingObjectReader = new NonBlockingObjectReader(
-					jsonFactory, false, objectReader);
+		return Flux.using(
+				() -> new NonBlockingObjectReader(jsonFactory, false, objectReader),
+				nonBlockingObjectReader -> this.<T>readImpl(input, nonBlockingObjectReader),
+				ReactorObjectReader::close)
+				.singleOrEmpty();
+	}
 
-			return this.<T>readImpl(input, nonBlockingObjectReader).singleOrEmpty();
-		}
-		catch (IOException ex) {
-			return Mono.error(ex);
+	private static void close(NonBlockingObjectReader reader) {
+		try {
+			reader.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
 	}
 
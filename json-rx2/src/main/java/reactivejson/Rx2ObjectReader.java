@@ -19,27 +19,18 @@ public class Rx2ObjectReader {
 	}
 
 	public <T> Flowable<T> readElements(Publisher<ByteBuffer> input, ObjectReader objectReader) {
-		try {
-			NonBlockingObjectReader nonBlockingObjectReader = new NonBlockingObjectReader(
-					jsonFactory, true, objectReader);
-
-			return readImpl(input, nonBlockingObjectReader);
-		}
-		catch (IOException ex) {
-			return Flowable.error(ex);
-		}
+		return Flowable.using(
+				() -> new NonBlockingObjectReader(jsonFactory, true, objectReader),
+				nonBlockingObjectReader -> readImpl(input, nonBlockingObjectReader),
+				NonBlockingObjectReader::close);
 	}
 
 	public <T> Single<T> read(Publisher<ByteBuffer> input, ObjectReader objectReader) {
-		try {
-			NonBlockingObjectReader nonBlockingObjectReader = new NonBlockingObjectReader(
-					jsonFactory, false, objectReader);
-
-			return this.<T>readImpl(input, nonBlockingObjectReader).firstOrError();
-		}
-		catch (IOException ex) {
-			return Single.error(ex);
-		}
+		return Flowable.using(
+				() -> new NonBlockingObjectReader(jsonFactory, false, objectReader),
+				nonBlockingObjectReader -> this.<T>readImpl(input, nonBlockingObjectReader),
+				NonBlockingObjectReader::close)
+				.firstOrError();
 	}
 
 	private <T> Flowable<T> readImpl(Publisher<ByteBuffer> input, NonBlockingObjectReader reader) {